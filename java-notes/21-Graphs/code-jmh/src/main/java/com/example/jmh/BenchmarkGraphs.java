@@ -0,0 +1,82 @@
+package com.example.jmh;
+
+import com.example.Graph;
+
+import java.util.Random;
+
+/**
+ * Synthetic graphs shared by the benchmarks.
+ */
+final class BenchmarkGraphs {
+
+    private BenchmarkGraphs() {
+    }
+
+    /**
+     * Builds a random undirected graph of {@code vertices} integer vertices with an average
+     * degree of about {@code degree}, the same graph for the same seed. Each vertex is linked to
+     * its successor first, so the whole graph is connected and a traversal from vertex 0 visits
+     * every vertex. The vertices are boxed once and shared by every neighbor list.
+     */
+    static Graph<Integer> randomGraph(int vertices, int degree, long seed) {
+        Integer[] boxed = new Integer[vertices];
+        for (int v = 0; v < vertices; v++) {
+            boxed[v] = v;
+        }
+        Random random = new Random(seed);
+        Graph<Integer> graph = new Graph<>();
+        for (int v = 0; v < vertices; v++) {
+            graph.addVertex(boxed[v]);
+        }
+        for (int v = 0; v + 1 < vertices; v++) {
+            graph.addEdge(boxed[v], boxed[v + 1]);
+        }
+        // Each edge adds 2 to the degree sum; the path above already contributes about 2 per vertex.
+        long randomEdges = (long) vertices * (degree - 2) / 2;
+        for (long e = 0; e < randomEdges; e++) {
+            graph.addEdge(boxed[random.nextInt(vertices)], boxed[random.nextInt(vertices)]);
+        }
+        return graph;
+    }
+
+    /**
+     * Builds a {@code side} x {@code side} grid, like a street map: vertex {@code y * side + x}
+     * is linked to its right and lower neighbors by undirected edges weighing between 1 and 2,
+     * so the Manhattan distance between two vertices never overestimates their distance.
+     */
+    static Graph<Integer> gridGraph(int side, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer> graph = new Graph<>();
+        for (int v = 0; v < side * side; v++) {
+            graph.addVertex(v);
+        }
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                int v = y * side + x;
+                if (x + 1 < side) {
+                    graph.addEdge(v, v + 1, 1 + random.nextDouble());
+                }
+                if (y + 1 < side) {
+                    graph.addEdge(v, v + side, 1 + random.nextDouble());
+                }
+            }
+        }
+        return graph;
+    }
+
+    /** Returns the bytes of heap still in use after a full collection. */
+    static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // A single System.gc() can leave garbage behind; stop once the figure no longer drops.
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used) {
+                break;
+            }
+            used = now;
+        }
+        return used;
+    }
+}
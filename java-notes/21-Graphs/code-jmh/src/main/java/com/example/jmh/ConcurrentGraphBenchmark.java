@@ -0,0 +1,140 @@
+package com.example.jmh;
+
+import com.example.ConcurrentGraph;
+import com.example.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@value #EDGES} edges added to an empty graph by 1 to 32 threads. After each edge, the thread
+ * also reads the neighbors of a random vertex, so reads and writes contend throughout.
+ * {@link ConcurrentGraph} is compared with a {@link Graph} guarded by a read-write lock, the
+ * simplest safe way to share one. Scores are in edges per second. Speedups above the machine's
+ * core count are not meaningful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OperationsPerInvocation(ConcurrentGraphBenchmark.EDGES)
+public class ConcurrentGraphBenchmark {
+
+    static final int EDGES = 1_000_000;
+
+    @Param({"100000"})
+    public int vertices;
+
+    @Param({"1", "2", "4", "8", "16", "32"})
+    public int threads;
+
+    private Integer[] boxed;
+    // Edge e joins boxed[sources[e]] and boxed[targets[e]]; reads[e] is the vertex read after it.
+    private int[] sources;
+    private int[] targets;
+    private int[] reads;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        boxed = new Integer[vertices];
+        for (int v = 0; v < vertices; v++) {
+            boxed[v] = v;
+        }
+        Random random = new Random(42);
+        sources = new int[EDGES];
+        targets = new int[EDGES];
+        reads = new int[EDGES];
+        for (int e = 0; e < EDGES; e++) {
+            sources[e] = random.nextInt(vertices);
+            targets[e] = random.nextInt(vertices);
+            reads[e] = random.nextInt(vertices);
+        }
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public long concurrentGraph() throws InterruptedException, ExecutionException {
+        ConcurrentGraph<Integer> graph = new ConcurrentGraph<>();
+        return runSlices((from, to) -> {
+            long seen = 0;
+            for (int e = from; e < to; e++) {
+                graph.addEdge(boxed[sources[e]], boxed[targets[e]]);
+                seen += graph.getNeighbors(boxed[reads[e]]).size();
+            }
+            return seen;
+        });
+    }
+
+    @Benchmark
+    public long lockedGraph() throws InterruptedException, ExecutionException {
+        Graph<Integer> graph = new Graph<>();
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+        return runSlices((from, to) -> {
+            long seen = 0;
+            for (int e = from; e < to; e++) {
+                lock.writeLock().lock();
+                try {
+                    graph.addEdge(boxed[sources[e]], boxed[targets[e]]);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                lock.readLock().lock();
+                try {
+                    seen += graph.getNeighbors(boxed[reads[e]]).size();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+            return seen;
+        });
+    }
+
+    private interface Slice {
+        long run(int from, int to);
+    }
+
+    /** Splits the edges into one contiguous slice per thread and waits for all of them. */
+    private long runSlices(Slice slice) throws InterruptedException, ExecutionException {
+        List<Callable<Long>> tasks = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) EDGES * t / threads);
+            int to = (int) ((long) EDGES * (t + 1) / threads);
+            tasks.add(() -> slice.run(from, to));
+        }
+        long seen = 0;
+        for (Future<Long> result : executor.invokeAll(tasks)) {
+            seen += result.get();
+        }
+        return seen;
+    }
+}
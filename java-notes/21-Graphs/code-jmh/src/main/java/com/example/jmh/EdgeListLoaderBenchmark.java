@@ -0,0 +1,99 @@
+package com.example.jmh;
+
+import com.example.CsrGraph;
+import com.example.EdgeListLoader;
+import com.example.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a CSV edge list of {@value #EDGES} edges with {@link EdgeListLoader} on pools of 1 to
+ * 16 threads, against reading it line by line and calling {@link Graph#addEdge} for each line.
+ * Scores are in edges per second. The file is written once per fork and stays in the page
+ * cache, so this measures parsing and building, not the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OperationsPerInvocation(EdgeListLoaderBenchmark.EDGES)
+public class EdgeListLoaderBenchmark {
+
+    static final int EDGES = 5_000_000;
+
+    @Param({"1000000"})
+    public int vertices;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private Path file;
+    private ForkJoinPool pool;
+    private EdgeListLoader loader;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("edges-benchmark", ".csv");
+        Random random = new Random(42);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("source,target\n");
+            for (int e = 0; e < EDGES; e++) {
+                writer.write(random.nextInt(vertices) + "," + random.nextInt(vertices) + "\n");
+            }
+        }
+        System.out.printf("%n%,d edges, %,d byte file%n", EDGES, Files.size(file));
+        pool = new ForkJoinPool(parallelism);
+        loader = new EdgeListLoader(pool);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public CsrGraph<Long> loadCsr() throws IOException {
+        return loader.loadCsr(file);
+    }
+
+    @Benchmark
+    public Graph<Long> loadGraph() throws IOException {
+        return loader.loadGraph(file);
+    }
+
+    @Benchmark
+    public Graph<Long> lineByLine() throws IOException {
+        Graph<Long> graph = new Graph<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            reader.readLine();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] ids = line.split(",");
+                graph.addEdge(Long.parseLong(ids[0]), Long.parseLong(ids[1]));
+            }
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.jmh;
+
+import com.example.CsrGraph;
+import com.example.Graph;
+import com.example.GraphTraversalDemo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BFS and DFS over the same random graph held as a {@link Graph} (a map of boxed neighbor
+ * lists) and as a {@link CsrGraph}, plus the cost of freezing one into the other.
+ *
+ * <p>The heap retained by each representation is printed once per fork, before the first
+ * warmup iteration. The CSR figure excludes the vertex objects themselves, which it shares with
+ * the source graph.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GraphRepresentationBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    @Param({"10"})
+    public int degree;
+
+    private Graph<Integer> graph;
+    private CsrGraph<Integer> csr;
+    private Integer start;
+
+    @Setup
+    public void setUp() {
+        long before = BenchmarkGraphs.usedHeapAfterGc();
+        graph = BenchmarkGraphs.randomGraph(vertices, degree, 42);
+        long afterGraph = BenchmarkGraphs.usedHeapAfterGc();
+        csr = graph.freeze();
+        long afterCsr = BenchmarkGraphs.usedHeapAfterGc();
+        start = 0;
+
+        long edges = csr.edgeCount();
+        System.out.printf("%n%,d vertices, %,d adjacency entries: Graph %,d bytes (%.1f per entry), "
+                        + "CsrGraph %,d bytes (%.1f per entry)%n",
+                vertices, edges,
+                afterGraph - before, (double) (afterGraph - before) / edges,
+                afterCsr - afterGraph, (double) (afterCsr - afterGraph) / edges);
+    }
+
+    @Benchmark
+    public List<Integer> bfsGraph() {
+        return GraphTraversalDemo.bfsOrder(graph, start);
+    }
+
+    @Benchmark
+    public int[] bfsCsr() {
+        return GraphTraversalDemo.bfsOrder(csr, csr.idOf(start));
+    }
+
+    @Benchmark
+    public List<Integer> dfsGraph() {
+        return GraphTraversalDemo.dfsOrder(graph, start);
+    }
+
+    @Benchmark
+    public int[] dfsCsr() {
+        return GraphTraversalDemo.dfsOrder(csr, csr.idOf(start));
+    }
+
+    @Benchmark
+    public CsrGraph<Integer> freeze() {
+        return graph.freeze();
+    }
+}
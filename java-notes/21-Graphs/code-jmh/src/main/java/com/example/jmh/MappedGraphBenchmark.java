@@ -0,0 +1,84 @@
+package com.example.jmh;
+
+import com.example.CsrGraph;
+import com.example.GraphTraversalDemo;
+import com.example.MappedGraph;
+import com.example.VertexCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opening a graph file with {@link MappedGraph} and traversing it from the mapping, against the
+ * same BFS over the on-heap {@link CsrGraph} the file was written from. The file size and the
+ * time to write it are printed once per fork. The file sits in the page cache throughout, so
+ * this measures the cost of reading through the mapping, not the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MappedGraphBenchmark {
+
+    @Param({"1000000"})
+    public int vertices;
+
+    @Param({"10"})
+    public int degree;
+
+    private Path file;
+    private CsrGraph<Integer> csr;
+    private MappedGraph<Integer> mapped;
+
+    @Setup
+    public void setUp() throws IOException {
+        csr = BenchmarkGraphs.randomGraph(vertices, degree, 42).freeze();
+        file = Files.createTempFile("graph-benchmark", ".graph");
+        long start = System.nanoTime();
+        MappedGraph.write(csr, file, VertexCodec.INTEGER);
+        System.out.printf("%n%,d vertices, %,d adjacency entries: %,d byte file written in %d ms%n",
+                vertices, csr.edgeCount(), Files.size(file), (System.nanoTime() - start) / 1_000_000);
+        mapped = MappedGraph.open(file, VertexCodec.INTEGER);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public MappedGraph<Integer> open() throws IOException {
+        return MappedGraph.open(file, VertexCodec.INTEGER);
+    }
+
+    @Benchmark
+    public int[] bfsMapped() {
+        return GraphTraversalDemo.bfsOrder(mapped, 0);
+    }
+
+    @Benchmark
+    public int[] bfsCsr() {
+        return GraphTraversalDemo.bfsOrder(csr, 0);
+    }
+
+    @Benchmark
+    public int idOfMapped() {
+        return mapped.idOf(vertices / 2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.jmh;
+
+import com.example.CsrGraph;
+import com.example.ParallelBfs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full {@link ParallelBfs} search on pools of 1 to 16 threads, over the same graph as
+ * {@code GraphRepresentationBenchmark.bfsCsr}, which is the sequential baseline. Speedups above
+ * the machine's core count are not meaningful.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParallelBfsBenchmark {
+
+    @Param({"1000000"})
+    public int vertices;
+
+    @Param({"10"})
+    public int degree;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private CsrGraph<Integer> graph;
+    private ForkJoinPool pool;
+    private ParallelBfs bfs;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.randomGraph(vertices, degree, 42).freeze();
+        pool = new ForkJoinPool(parallelism);
+        bfs = new ParallelBfs(pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ParallelBfs.Result parallel() {
+        return bfs.search(graph, 0);
+    }
+}
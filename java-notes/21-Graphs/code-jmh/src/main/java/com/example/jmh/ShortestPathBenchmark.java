@@ -0,0 +1,146 @@
+package com.example.jmh;
+
+import com.example.CsrGraph;
+import com.example.ShortestPaths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-to-point queries between random vertices of a weighted grid, answered by each
+ * {@link ShortestPaths} search and by a textbook Dijkstra with a {@link PriorityQueue} of boxed
+ * entries and fresh arrays per query. Each invocation answers the next query of a fixed list, and
+ * the average number of vertices each search settles is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ShortestPathBenchmark {
+
+    private static final int QUERIES = 256;
+
+    @Param({"1000"})
+    public int side;
+
+    private CsrGraph<Integer> graph;
+    private ShortestPaths<Integer> paths;
+    private ShortestPaths.Heuristic manhattan;
+    private int[] sources;
+    private int[] targets;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.gridGraph(side, 42).freeze();
+        paths = new ShortestPaths<>(graph);
+        int[] xs = new int[graph.vertexCount()];
+        int[] ys = new int[graph.vertexCount()];
+        for (int id = 0; id < graph.vertexCount(); id++) {
+            xs[id] = graph.vertexOf(id) % side;
+            ys[id] = graph.vertexOf(id) / side;
+        }
+        manhattan = (vertex, target) -> Math.abs(xs[vertex] - xs[target]) + Math.abs(ys[vertex] - ys[target]);
+
+        Random random = new Random(7);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        long[] settled = new long[3];
+        for (int q = 0; q < QUERIES; q++) {
+            sources[q] = random.nextInt(graph.vertexCount());
+            targets[q] = random.nextInt(graph.vertexCount());
+            settled[0] += paths.dijkstraById(sources[q], targets[q]).orElseThrow().getSettledCount();
+            settled[1] += paths.aStarById(sources[q], targets[q], manhattan).orElseThrow().getSettledCount();
+            settled[2] += paths.bidirectionalById(sources[q], targets[q]).orElseThrow().getSettledCount();
+        }
+        System.out.printf("%n%,d vertices, average vertices settled per query: dijkstra %,d, aStar %,d, "
+                + "bidirectional %,d%n", graph.vertexCount(),
+                settled[0] / QUERIES, settled[1] / QUERIES, settled[2] / QUERIES);
+    }
+
+    private int nextQuery() {
+        next = (next + 1) % QUERIES;
+        return next;
+    }
+
+    @Benchmark
+    public double dijkstra() {
+        int q = nextQuery();
+        return paths.dijkstraById(sources[q], targets[q]).orElseThrow().getDistance();
+    }
+
+    @Benchmark
+    public double aStar() {
+        int q = nextQuery();
+        return paths.aStarById(sources[q], targets[q], manhattan).orElseThrow().getDistance();
+    }
+
+    @Benchmark
+    public double bidirectional() {
+        int q = nextQuery();
+        return paths.bidirectionalById(sources[q], targets[q]).orElseThrow().getDistance();
+    }
+
+    @Benchmark
+    public double boxedPriorityQueue() {
+        int q = nextQuery();
+        return boxedDijkstra(graph, sources[q], targets[q]);
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final int vertex;
+        final double distance;
+
+        Entry(int vertex, double distance) {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Double.compare(distance, other.distance);
+        }
+    }
+
+    /** Dijkstra with lazy deletion: an improved vertex is queued again and stale entries skipped. */
+    private static double boxedDijkstra(CsrGraph<?> graph, int source, int target) {
+        double[] distances = new double[graph.vertexCount()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+        PriorityQueue<Entry> queue = new PriorityQueue<>();
+        queue.add(new Entry(source, 0));
+        while (!queue.isEmpty()) {
+            Entry entry = queue.poll();
+            if (entry.distance > distances[entry.vertex]) {
+                continue;
+            }
+            if (entry.vertex == target) {
+                return entry.distance;
+            }
+            for (int i = graph.firstNeighbor(entry.vertex); i < graph.firstNeighbor(entry.vertex + 1); i++) {
+                int neighbor = graph.neighborAt(i);
+                double candidate = entry.distance + graph.weightAt(i);
+                if (candidate < distances[neighbor]) {
+                    distances[neighbor] = candidate;
+                    queue.add(new Entry(neighbor, candidate));
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+}
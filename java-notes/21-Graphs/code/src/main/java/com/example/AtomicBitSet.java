@@ -0,0 +1,40 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size bit set that many threads can update at once. Setting a bit is a compare-and-set
+ * on the 64-bit word holding it, so exactly one of several threads setting the same bit is told
+ * it was the one that changed it.
+ */
+final class AtomicBitSet {
+
+    private final AtomicLongArray words;
+
+    AtomicBitSet(int size) {
+        this.words = new AtomicLongArray((size + 63) >>> 6);
+    }
+
+    boolean get(int index) {
+        return (words.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets a bit.
+     * @param index The bit to set.
+     * @return true if this call set it, false if it was already set.
+     */
+    boolean testAndSet(int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current = words.get(word);
+        while ((current & mask) == 0) {
+            long witness = words.compareAndExchange(word, current, current | mask);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+        }
+        return false;
+    }
+}
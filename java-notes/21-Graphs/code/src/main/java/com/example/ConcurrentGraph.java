@@ -0,0 +1,182 @@
+package com.example;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An adjacency list graph that many threads can add to while others traverse it, for graphs that
+ * keep growing while they serve queries.
+ *
+ * <p>Each vertex's neighbors live in an array that only grows at the end. A writer locks just the
+ * list it appends to, so writers to different vertices never wait for each other. Readers never
+ * lock: {@link #getNeighbors} returns a snapshot of the neighbors added so far, which later
+ * additions do not change and which costs no copy.</p>
+ *
+ * <p>Each list is consistent on its own, but an undirected edge is added to its two lists one
+ * after the other. A reader can briefly see {@code b} among the neighbors of {@code a} before it
+ * sees {@code a} among the neighbors of {@code b}, and a traversal that runs during insertion
+ * sees some edges added after it started. Edges have weight 1; vertices and edges cannot be
+ * removed.</p>
+ *
+ * @param <T> The type of the vertices.
+ */
+public class ConcurrentGraph<T> {
+
+    private final ConcurrentHashMap<T, Neighbors<T>> adjacencyList = new ConcurrentHashMap<>();
+    private final LongAdder edgeCount = new LongAdder();
+    private volatile boolean directed;
+
+    /**
+     * Adds a new vertex to the graph.
+     * @param vertex The vertex to add.
+     */
+    public void addVertex(T vertex) {
+        neighbors(vertex);
+    }
+
+    /**
+     * Adds an undirected edge between two vertices.
+     * @param vertex1 The first vertex.
+     * @param vertex2 The second vertex.
+     */
+    public void addEdge(T vertex1, T vertex2) {
+        Neighbors<T> neighbors1 = neighbors(vertex1);
+        Neighbors<T> neighbors2 = neighbors(vertex2);
+        neighbors1.add(vertex2);
+        neighbors2.add(vertex1);
+        edgeCount.add(2);
+    }
+
+    /**
+     * Adds a directed edge, which can only be followed from {@code from} to {@code to}.
+     * @param from The vertex the edge starts at.
+     * @param to The vertex the edge ends at.
+     */
+    public void addDirectedEdge(T from, T to) {
+        Neighbors<T> neighbors = neighbors(from);
+        addVertex(to);
+        neighbors.add(to);
+        edgeCount.increment();
+        if (!directed) {
+            directed = true;
+        }
+    }
+
+    private Neighbors<T> neighbors(T vertex) {
+        // get() never locks; computeIfAbsent may lock the bin even when the vertex exists.
+        Neighbors<T> neighbors = adjacencyList.get(vertex);
+        return neighbors != null ? neighbors : adjacencyList.computeIfAbsent(vertex, v -> new Neighbors<>());
+    }
+
+    /**
+     * Gets a snapshot of the vertices adjacent to a given vertex, without locking.
+     * @param vertex The vertex to get the neighbors of.
+     * @return An unmodifiable list of the neighbors added so far, in the order they were added.
+     */
+    public List<T> getNeighbors(T vertex) {
+        Neighbors<T> neighbors = adjacencyList.get(vertex);
+        return neighbors != null ? neighbors.snapshot() : List.of();
+    }
+
+    /**
+     * Gets all vertices in the graph. Iterating the set sees every vertex added before the
+     * iteration started, and may or may not see vertices added during it.
+     * @return A live, unmodifiable view of the vertices.
+     */
+    public Set<T> getVertices() {
+        return Collections.unmodifiableSet(adjacencyList.keySet());
+    }
+
+    /**
+     * @return The number of vertices.
+     */
+    public int vertexCount() {
+        return adjacencyList.size();
+    }
+
+    /**
+     * @return The number of adjacency entries: two per undirected edge, one per directed edge.
+     *         Exact only while no edges are being added.
+     */
+    public long edgeCount() {
+        return edgeCount.sum();
+    }
+
+    /**
+     * Tells whether any directed edge was added.
+     * @return true if the graph is directed.
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (T vertex : adjacencyList.keySet()) {
+            sb.append(vertex.toString()).append(": ");
+            sb.append(getNeighbors(vertex).toString()).append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The neighbors of one vertex. Appends are serialized on the list; reads are not.
+     *
+     * <p>A writer stores the new element, growing into a copy first if needed, and only then
+     * raises {@code size}. A reader reads {@code size} first and {@code elements} second, so the
+     * array it gets, whether the same one or a later copy, holds at least {@code size} published
+     * elements.</p>
+     */
+    private static final class Neighbors<T> {
+        private volatile Object[] elements = new Object[4];
+        private volatile int size;
+
+        synchronized void add(T neighbor) {
+            Object[] array = elements;
+            int n = size;
+            if (n == array.length) {
+                array = Arrays.copyOf(array, n * 2);
+                elements = array;
+            }
+            array[n] = neighbor;
+            size = n + 1;
+        }
+
+        List<T> snapshot() {
+            int n = size;
+            return new Snapshot<>(elements, n);
+        }
+    }
+
+    /** An unmodifiable view of the first {@code size} elements of a neighbor array. */
+    private static final class Snapshot<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] elements;
+        private final int size;
+
+        Snapshot(Object[] elements, int size) {
+            this.elements = elements;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+            }
+            return (T) elements[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable graph in compressed sparse row (CSR) form, built from a {@link Graph} by
+ * {@link Graph#freeze()}.
+ *
+ * <p>Vertices are numbered {@code 0..vertexCount()-1}. The neighbors of vertex {@code v} are
+ * {@code neighbors[offsets[v]]} up to (but excluding) {@code neighbors[offsets[v + 1]]}, so a
+ * whole graph is two {@code int[]} arrays plus the dictionary between vertices and ids. A
+ * neighbor walk is a scan over consecutive ints instead of a map lookup and a list of boxed
+ * references, which is about 4 bytes per edge instead of well over 100. A weighted graph adds a
+ * {@code double[]} parallel to the neighbors.</p>
+ *
+ * @param <T> The type of the vertices.
+ */
+public final class CsrGraph<T> {
+
+    private final List<T> vertices;
+    private final Map<T, Integer> ids;
+    private final int[] offsets;
+    private final int[] neighbors;
+    // null when every edge has weight 1.
+    private final double[] weights;
+    private final boolean directed;
+    // Built on first use; a graph without directed edges is its own transpose.
+    private volatile CsrGraph<T> transpose;
+
+    private CsrGraph(List<T> vertices, Map<T, Integer> ids, int[] offsets, int[] neighbors,
+                     double[] weights, boolean directed) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.weights = weights;
+        this.directed = directed;
+        if (!directed) {
+            this.transpose = this;
+        }
+    }
+
+    /**
+     * Copies a graph into CSR form. Ids follow the iteration order of
+     * {@link Graph#getVertices()} and every neighbor list keeps its order, so traversals visit
+     * vertices in the same order on both representations.
+     * @param graph The graph to copy.
+     * @param <T> The type of the vertices.
+     * @return The frozen graph; later changes to {@code graph} are not reflected in it.
+     */
+    public static <T> CsrGraph<T> of(Graph<T> graph) {
+        List<T> vertices = new ArrayList<>(graph.getVertices());
+        Map<T, Integer> ids = new HashMap<>(vertices.size() * 4 / 3 + 1);
+        for (int id = 0; id < vertices.size(); id++) {
+            ids.put(vertices.get(id), id);
+        }
+
+        int[] offsets = new int[vertices.size() + 1];
+        for (int id = 0; id < vertices.size(); id++) {
+            offsets[id + 1] = offsets[id] + graph.getNeighbors(vertices.get(id)).size();
+        }
+        int[] neighbors = new int[offsets[vertices.size()]];
+        double[] weights = graph.isWeighted() ? new double[neighbors.length] : null;
+        for (int id = 0; id < vertices.size(); id++) {
+            int next = offsets[id];
+            for (T neighbor : graph.getNeighbors(vertices.get(id))) {
+                neighbors[next++] = ids.get(neighbor);
+            }
+            if (weights != null) {
+                next = offsets[id];
+                for (double weight : graph.getEdgeWeights(vertices.get(id))) {
+                    weights[next++] = weight;
+                }
+            }
+        }
+        return new CsrGraph<>(Collections.unmodifiableList(vertices), ids, offsets, neighbors,
+                weights, graph.isDirected());
+    }
+
+    /**
+     * Wraps arrays that are already in CSR form, such as those built by {@link EdgeListLoader}.
+     * The arrays are used as they are, not copied.
+     */
+    static <T> CsrGraph<T> of(List<T> vertices, int[] offsets, int[] neighbors, double[] weights, boolean directed) {
+        Map<T, Integer> ids = new HashMap<>(vertices.size() * 4 / 3 + 1);
+        for (int id = 0; id < vertices.size(); id++) {
+            ids.put(vertices.get(id), id);
+        }
+        return new CsrGraph<>(Collections.unmodifiableList(vertices), ids, offsets, neighbors, weights, directed);
+    }
+
+    /**
+     * @return The number of vertices.
+     */
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * @return The number of adjacency entries; each undirected edge is counted once per endpoint.
+     */
+    public int edgeCount() {
+        return neighbors.length;
+    }
+
+    /**
+     * Gets the id of a vertex.
+     * @param vertex The vertex to look up.
+     * @return Its id, or -1 if it is not in the graph.
+     */
+    public int idOf(T vertex) {
+        Integer id = ids.get(vertex);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the vertex with a given id.
+     * @param id An id between 0 and {@code vertexCount() - 1}.
+     * @return The vertex.
+     */
+    public T vertexOf(int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Gets the number of neighbors of a vertex.
+     * @param id The id of the vertex.
+     * @return Its degree.
+     */
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Gets the position of the first neighbor of a vertex, for use with {@link #neighborAt}:
+     * <pre>
+     * for (int i = graph.firstNeighbor(v); i &lt; graph.firstNeighbor(v + 1); i++) {
+     *     int neighbor = graph.neighborAt(i);
+     * }
+     * </pre>
+     * @param id The id of the vertex, or {@code vertexCount()} for the end of the last one.
+     * @return The position of its first neighbor.
+     */
+    public int firstNeighbor(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Gets the neighbor stored at a position.
+     * @param index A position between 0 and {@code edgeCount() - 1}.
+     * @return The id of the neighbor.
+     */
+    public int neighborAt(int index) {
+        return neighbors[index];
+    }
+
+    /**
+     * Gets the weight of the edge stored at a position.
+     * @param index A position between 0 and {@code edgeCount() - 1}.
+     * @return The weight of the edge to {@code neighborAt(index)}.
+     */
+    public double weightAt(int index) {
+        return weights != null ? weights[index] : 1.0;
+    }
+
+    /**
+     * @return true if any edge has a weight other than 1.
+     */
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * @return true if the graph has directed edges, so neighbor lists are not symmetric.
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Gets the graph with every edge reversed, in which the neighbors of a vertex are the
+     * vertices with an edge to it here. It shares this graph's vertex ids and is built the first
+     * time it is asked for; an undirected graph returns itself.
+     * @return The transposed graph.
+     */
+    public CsrGraph<T> transpose() {
+        CsrGraph<T> result = transpose;
+        if (result == null) {
+            synchronized (this) {
+                result = transpose;
+                if (result == null) {
+                    result = reversed();
+                    result.transpose = this;
+                    transpose = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private CsrGraph<T> reversed() {
+        int[] reverseOffsets = new int[offsets.length];
+        for (int neighbor : neighbors) {
+            reverseOffsets[neighbor + 1]++;
+        }
+        for (int id = 0; id < vertices.size(); id++) {
+            reverseOffsets[id + 1] += reverseOffsets[id];
+        }
+        int[] next = Arrays.copyOf(reverseOffsets, vertices.size());
+        int[] reverseNeighbors = new int[neighbors.length];
+        double[] reverseWeights = weights != null ? new double[weights.length] : null;
+        for (int id = 0; id < vertices.size(); id++) {
+            for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+                int slot = next[neighbors[i]]++;
+                reverseNeighbors[slot] = id;
+                if (reverseWeights != null) {
+                    reverseWeights[slot] = weights[i];
+                }
+            }
+        }
+        return new CsrGraph<>(vertices, ids, reverseOffsets, reverseNeighbors, reverseWeights, true);
+    }
+
+    /**
+     * Gets the ids of the neighbors of a vertex as a new array.
+     * @param id The id of the vertex.
+     * @return A copy of its neighbor ids.
+     */
+    public int[] getNeighbors(int id) {
+        int[] copy = new int[degree(id)];
+        System.arraycopy(neighbors, offsets[id], copy, 0, copy.length);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int id = 0; id < vertices.size(); id++) {
+            sb.append(vertices.get(id)).append(": [");
+            for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+                if (i > offsets[id]) {
+                    sb.append(", ");
+                }
+                sb.append(vertices.get(neighbors[i]));
+            }
+            sb.append("]\n");
+        }
+        return sb.toString();
+    }
+}
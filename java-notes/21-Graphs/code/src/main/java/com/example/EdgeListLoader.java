@@ -0,0 +1,636 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Loads a graph from a text file with one edge per line, such as the CSV and TSV edge lists of
+ * SNAP and similar network datasets:
+ * <pre>
+ * # comment
+ * source,target
+ * 1,2
+ * 2	3	0.75
+ * </pre>
+ * <p>Each line holds two integer vertex ids, up to {@code Long.MAX_VALUE} in magnitude, and an
+ * optional weight, separated by commas, tabs, semicolons or spaces. Lines that do not start with
+ * a digit or a minus sign, like comments and CSV headers, are skipped.</p>
+ *
+ * <p>The file is split into chunks at line boundaries, and every chunk is memory-mapped and
+ * parsed by its own fork-join task into primitive arrays. Ids and weights are parsed straight
+ * from the bytes, so there is no {@code String} or boxed number per line. The distinct ids are
+ * then sorted and renumbered {@code 0..V-1} in parallel, and the chunks are merged in file
+ * order. Neighbor lists come out in the same order as adding the edges one by one would give.</p>
+ */
+public class EdgeListLoader {
+
+    /** Receives progress while a file is parsed, on the thread that called the loader. */
+    public interface ProgressListener {
+        /**
+         * @param bytesParsed The bytes parsed so far, always whole chunks.
+         * @param totalBytes The size of the file.
+         * @param edgesParsed The edges found in those bytes.
+         */
+        void onProgress(long bytesParsed, long totalBytes, long edgesParsed);
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 16 << 20;
+
+    private final ForkJoinPool pool;
+    private boolean directed;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private ProgressListener progressListener = (bytesParsed, totalBytes, edgesParsed) -> { };
+
+    /**
+     * Creates a loader that parses on the common fork-join pool.
+     */
+    public EdgeListLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a loader that parses on the given pool.
+     * @param pool The pool to run on.
+     */
+    public EdgeListLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param directed true to load every line as a directed edge from the first id to the second;
+     *                 by default edges are undirected.
+     * @return This loader.
+     */
+    public EdgeListLoader directed(boolean directed) {
+        this.directed = directed;
+        return this;
+    }
+
+    /**
+     * @param chunkSize The number of bytes each task parses, 16 MB by default.
+     * @return This loader.
+     */
+    public EdgeListLoader chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive, got " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * @param progressListener Called after each chunk is parsed.
+     * @return This loader.
+     */
+    public EdgeListLoader onProgress(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * Loads an edge list straight into compressed sparse row form, without building a
+     * {@link Graph} first.
+     * @param file The edge list.
+     * @return The graph; vertex ids are assigned in ascending order of the ids in the file.
+     * @throws IOException if the file cannot be read or has a malformed line.
+     */
+    public CsrGraph<Long> loadCsr(Path file) throws IOException {
+        Edges edges = parse(file);
+        int vertexCount = edges.vertices.length;
+
+        int[] offsets = new int[vertexCount + 1];
+        for (Chunk chunk : edges.chunks) {
+            for (int e = 0; e < chunk.size; e++) {
+                offsets[chunk.from[e] + 1]++;
+                if (!directed) {
+                    offsets[chunk.to[e] + 1]++;
+                }
+            }
+        }
+        toOffsets(offsets);
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        int[] neighbors = new int[offsets[vertexCount]];
+        double[] weights = edges.weighted ? new double[neighbors.length] : null;
+        for (Chunk chunk : edges.chunks) {
+            for (int e = 0; e < chunk.size; e++) {
+                int from = chunk.from[e];
+                int to = chunk.to[e];
+                double weight = chunk.weight(e);
+                int slot = next[from]++;
+                neighbors[slot] = to;
+                if (weights != null) {
+                    weights[slot] = weight;
+                }
+                if (!directed) {
+                    slot = next[to]++;
+                    neighbors[slot] = from;
+                    if (weights != null) {
+                        weights[slot] = weight;
+                    }
+                }
+            }
+        }
+
+        List<Long> vertices = new ArrayList<>(vertexCount);
+        for (long vertex : edges.vertices) {
+            vertices.add(vertex);
+        }
+        return CsrGraph.of(vertices, offsets, neighbors, weights, directed);
+    }
+
+    /**
+     * Turns per-vertex adjacency counts, held at {@code counts[id + 1]}, into {@link CsrGraph}
+     * offsets in place.
+     * @throws IOException if there are more adjacency entries than int offsets can address. A
+     *                     negative count is one that already wrapped while counting.
+     */
+    static void toOffsets(int[] counts) throws IOException {
+        try {
+            for (int id = 1; id < counts.length; id++) {
+                if (counts[id] < 0) {
+                    throw new ArithmeticException("integer overflow");
+                }
+                counts[id] = Math.addExact(counts[id], counts[id - 1]);
+            }
+        } catch (ArithmeticException e) {
+            throw new IOException("Too many adjacency entries for CsrGraph's int offsets (more than "
+                    + Integer.MAX_VALUE + ")", e);
+        }
+    }
+
+    /**
+     * Loads an edge list into a {@link Graph}. Parsing runs in parallel; the edges are then added
+     * one by one, sharing one {@code Long} per vertex.
+     * @param file The edge list.
+     * @return The graph.
+     * @throws IOException if the file cannot be read or has a malformed line.
+     */
+    public Graph<Long> loadGraph(Path file) throws IOException {
+        Edges edges = parse(file);
+        Long[] vertices = new Long[edges.vertices.length];
+        Graph<Long> graph = new Graph<>();
+        for (int id = 0; id < vertices.length; id++) {
+            vertices[id] = edges.vertices[id];
+            graph.addVertex(vertices[id]);
+        }
+        for (Chunk chunk : edges.chunks) {
+            for (int e = 0; e < chunk.size; e++) {
+                if (directed) {
+                    graph.addDirectedEdge(vertices[chunk.from[e]], vertices[chunk.to[e]], chunk.weight(e));
+                } else {
+                    graph.addEdge(vertices[chunk.from[e]], vertices[chunk.to[e]], chunk.weight(e));
+                }
+            }
+        }
+        return graph;
+    }
+
+    /** The parsed edges of a file, with endpoints renumbered to indexes into {@code vertices}. */
+    private static final class Edges {
+        private final long[] vertices;
+        private final List<Chunk> chunks;
+        private final boolean weighted;
+
+        Edges(long[] vertices, List<Chunk> chunks, boolean weighted) {
+            this.vertices = vertices;
+            this.chunks = chunks;
+            this.weighted = weighted;
+        }
+    }
+
+    private Edges parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] boundaries = lineBoundaries(channel, size);
+
+            List<ForkJoinTask<Chunk>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                long start = boundaries[i];
+                long end = boundaries[i + 1];
+                tasks.add(pool.submit(() -> Chunk.parse(channel, start, end)));
+            }
+            List<Chunk> chunks = new ArrayList<>(tasks.size());
+            long edges = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                Chunk chunk = join(tasks.get(i));
+                chunks.add(chunk);
+                edges += chunk.size;
+                progressListener.onProgress(boundaries[i + 1], size, edges);
+            }
+
+            long[] vertices = join(pool.submit(() -> renumber(chunks)));
+            boolean weighted = false;
+            for (Chunk chunk : chunks) {
+                weighted |= chunk.weights != null;
+            }
+            return new Edges(vertices, chunks, weighted);
+        }
+    }
+
+    /** Returns chunk boundaries about {@code chunkSize} apart, each at the start of a line. */
+    private long[] lineBoundaries(FileChannel channel, long size) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = chunkSize;
+        while (position < size) {
+            // Move forward to just past the next newline.
+            long lineStart = -1;
+            for (long at = position; lineStart < 0 && at < size; at += probe.capacity()) {
+                probe.clear();
+                int read = channel.read(probe, at);
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        lineStart = at + i + 1;
+                        break;
+                    }
+                }
+            }
+            if (lineStart < 0 || lineStart >= size) {
+                break;
+            }
+            boundaries.add(lineStart);
+            position = lineStart + chunkSize;
+        }
+        boundaries.add(size);
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Collects the distinct vertex ids of all chunks in ascending order, and rewrites every
+     * chunk's endpoints as indexes into that array. Runs inside the pool, so the per-chunk work
+     * and the sort fork into it.
+     */
+    private static long[] renumber(List<Chunk> chunks) {
+        ForkJoinTask.invokeAll(chunks.stream().map(chunk -> ForkJoinTask.adapt(chunk::dedupe))
+                .toArray(ForkJoinTask[]::new));
+        int total = 0;
+        for (Chunk chunk : chunks) {
+            total = Math.addExact(total, chunk.distinct.length);
+        }
+        long[] ids = new long[total];
+        int at = 0;
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.distinct, 0, ids, at, chunk.distinct.length);
+            at += chunk.distinct.length;
+        }
+        Arrays.parallelSort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        IdIndex index = new IdIndex(distinct);
+        for (int i = 0; i < distinct; i++) {
+            index.add(ids[i]);
+        }
+        long[] vertices = index.ids();
+        ForkJoinTask.invokeAll(chunks.stream().map(chunk -> ForkJoinTask.adapt(() -> chunk.renumber(index)))
+                .toArray(ForkJoinTask[]::new));
+        return vertices;
+    }
+
+    private static <V> V join(ForkJoinTask<V> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading edges", e);
+        } catch (ExecutionException e) {
+            // A fork-join task wraps a checked exception thrown by its callable in a RuntimeException,
+            // and get() on another thread may wrap that again in a copy; find the IOException inside.
+            Throwable cause = e.getCause();
+            while (cause instanceof RuntimeException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * The edges parsed from one chunk of the file: raw ids while parsing, then indexes into the
+     * chunk's {@code distinct} ids after {@link #dedupe}, and into the sorted vertex array after
+     * {@link #renumber}.
+     */
+    private static final class Chunk {
+        private long[] sources = new long[1024];
+        private long[] targets = new long[1024];
+        // null while every weight in the chunk is 1.
+        private double[] weights;
+        private int size;
+        private int[] from;
+        private int[] to;
+        private long[] distinct;
+
+        double weight(int edge) {
+            return weights != null ? weights[edge] : 1.0;
+        }
+
+        void add(long source, long target, double weight) {
+            if (size == sources.length) {
+                sources = Arrays.copyOf(sources, size * 2);
+                targets = Arrays.copyOf(targets, size * 2);
+                if (weights != null) {
+                    weights = Arrays.copyOf(weights, size * 2);
+                }
+            }
+            if (weights == null && weight != 1.0) {
+                weights = new double[sources.length];
+                Arrays.fill(weights, 0, size, 1.0);
+            }
+            sources[size] = source;
+            targets[size] = target;
+            if (weights != null) {
+                weights[size] = weight;
+            }
+            size++;
+        }
+
+        /** Numbers the chunk's own distinct ids in order of appearance. */
+        void dedupe() {
+            IdIndex index = new IdIndex(1024);
+            from = new int[size];
+            to = new int[size];
+            for (int e = 0; e < size; e++) {
+                from[e] = index.add(sources[e]);
+                to[e] = index.add(targets[e]);
+            }
+            distinct = index.ids();
+            sources = null;
+            targets = null;
+        }
+
+        /** Turns the chunk's own numbering into the global one. */
+        void renumber(IdIndex global) {
+            int[] globalIds = new int[distinct.length];
+            for (int local = 0; local < distinct.length; local++) {
+                globalIds[local] = global.get(distinct[local]);
+            }
+            for (int e = 0; e < size; e++) {
+                from[e] = globalIds[from[e]];
+                to[e] = globalIds[to[e]];
+            }
+            distinct = null;
+        }
+
+        static Chunk parse(FileChannel channel, long start, long end) throws IOException {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            return new Parser(bytes, start).parse();
+        }
+    }
+
+    /**
+     * Numbers distinct {@code long} ids {@code 0, 1, 2, ...} in the order they are added, in an
+     * open-addressing table of primitive arrays.
+     */
+    private static final class IdIndex {
+        // Parsed ids lie between -Long.MAX_VALUE and Long.MAX_VALUE, so this never collides with a real one.
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys;
+        private int[] values;
+        private long[] ids;
+        private int size;
+
+        IdIndex(int expected) {
+            allocate(Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1);
+            ids = new long[Math.max(expected, 8)];
+        }
+
+        /** Returns the number of {@code id}, adding it first if it is new. */
+        int add(long id) {
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == id) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = size;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size] = id;
+            // Keep the table at most half full.
+            if (++size * 2 > keys.length) {
+                allocate(keys.length * 2);
+                for (int i = 0; i < size; i++) {
+                    put(ids[i], i);
+                }
+            }
+            return size - 1;
+        }
+
+        /** Returns the number of an id that has been added. */
+        int get(long id) {
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return values[slot];
+        }
+
+        /** Returns the added ids, in the order they were added. */
+        long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new int[capacity];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        private void put(long id, int value) {
+            int mask = keys.length - 1;
+            int slot = slot(id, mask);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = value;
+        }
+
+        private static int slot(long id, int mask) {
+            // Fibonacci hashing spreads sequential ids across the table.
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+
+    /** Parses the lines of one mapped chunk into a {@link Chunk}. */
+    private static final class Parser {
+        // Powers of ten that are exact doubles, for the fast path of weight parsing.
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+        private final MappedByteBuffer bytes;
+        private final long fileOffset;
+        private final int limit;
+        private final Chunk chunk = new Chunk();
+        private int position;
+
+        Parser(MappedByteBuffer bytes, long fileOffset) {
+            this.bytes = bytes;
+            this.fileOffset = fileOffset;
+            this.limit = bytes.limit();
+        }
+
+        Chunk parse() throws IOException {
+            while (position < limit) {
+                skipBlanks();
+                if (position >= limit) {
+                    break;
+                }
+                byte first = bytes.get(position);
+                if (first != '-' && !isDigit(first)) {
+                    skipLine();
+                    continue;
+                }
+                long source = parseId();
+                skipSeparators();
+                long target = parseId();
+                skipSeparators();
+                double weight = 1.0;
+                if (position < limit && bytes.get(position) != '\n' && bytes.get(position) != '\r') {
+                    weight = parseWeight();
+                    skipSeparators();
+                }
+                if (position < limit && bytes.get(position) == '\r') {
+                    position++;
+                }
+                if (position < limit && bytes.get(position) != '\n') {
+                    throw malformed();
+                }
+                position++;
+                chunk.add(source, target, weight);
+            }
+            return chunk;
+        }
+
+        private long parseId() throws IOException {
+            boolean negative = position < limit && bytes.get(position) == '-';
+            if (negative) {
+                position++;
+            }
+            int digitsStart = position;
+            long value = 0;
+            while (position < limit && isDigit(bytes.get(position))) {
+                int digit = bytes.get(position++) - '0';
+                if (value >= Long.MAX_VALUE / 10
+                        && (value > Long.MAX_VALUE / 10 || digit > Long.MAX_VALUE % 10)) {
+                    throw malformed();
+                }
+                value = value * 10 + digit;
+            }
+            if (position == digitsStart) {
+                throw malformed();
+            }
+            return negative ? -value : value;
+        }
+
+        private double parseWeight() throws IOException {
+            int start = position;
+            boolean negative = bytes.get(position) == '-';
+            if (negative) {
+                position++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int fractionDigits = -1;
+            while (position < limit) {
+                byte b = bytes.get(position);
+                if (isDigit(b)) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fractionDigits >= 0) {
+                        fractionDigits++;
+                    }
+                } else if (b == '.' && fractionDigits < 0) {
+                    fractionDigits = 0;
+                } else {
+                    break;
+                }
+                position++;
+            }
+            byte after = position < limit ? bytes.get(position) : (byte) '\n';
+            boolean plain = after != 'e' && after != 'E';
+            if (digits > 0 && digits <= 15 && plain) {
+                // Both operands are exact doubles, so the division is correctly rounded.
+                double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+                return negative ? -value : value;
+            }
+            // Exponents and long mantissas are rare enough to go through the JDK parser.
+            while (position < limit && !isSeparator(bytes.get(position)) && bytes.get(position) != '\n'
+                    && bytes.get(position) != '\r') {
+                position++;
+            }
+            byte[] text = new byte[position - start];
+            for (int i = 0; i < text.length; i++) {
+                text[i] = bytes.get(start + i);
+            }
+            try {
+                return Double.parseDouble(new String(text, StandardCharsets.ISO_8859_1));
+            } catch (NumberFormatException e) {
+                throw malformed();
+            }
+        }
+
+        private void skipBlanks() {
+            while (position < limit) {
+                byte b = bytes.get(position);
+                if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private void skipSeparators() {
+            while (position < limit && isSeparator(bytes.get(position))) {
+                position++;
+            }
+        }
+
+        private void skipLine() {
+            while (position < limit && bytes.get(position) != '\n') {
+                position++;
+            }
+            position++;
+        }
+
+        private IOException malformed() {
+            return new IOException("Malformed edge at byte " + (fileOffset + position));
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static boolean isSeparator(byte b) {
+            return b == ',' || b == '\t' || b == ' ' || b == ';';
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -11,11 +12,20 @@ import java.util.Map;
  * The adjacency list is implemented using a Map, where the key is a vertex
  * and the value is a list of its adjacent vertices.
  *
+ * <p>Edges are undirected and have weight 1 unless added with a weight or as directed edges.
+ * Weights are kept in a second map of lists parallel to the adjacency list, which is only
+ * created once the first edge with a weight other than 1 is added.</p>
+ *
  * @param <T> The type of the vertices.
  */
 public class Graph<T> {
 
+    private static final Double UNIT_WEIGHT = 1.0;
+
     private final Map<T, List<T>> adjacencyList;
+    // null while every edge has weight 1; otherwise weights.get(v).get(i) belongs to adjacencyList.get(v).get(i).
+    private Map<T, List<Double>> weights;
+    private boolean directed;
 
     public Graph() {
         this.adjacencyList = new HashMap<>();
@@ -27,6 +37,9 @@ public class Graph<T> {
      */
     public void addVertex(T vertex) {
         adjacencyList.putIfAbsent(vertex, new ArrayList<>());
+        if (weights != null) {
+            weights.putIfAbsent(vertex, new ArrayList<>());
+        }
     }
 
     /**
@@ -35,14 +48,62 @@ public class Graph<T> {
      * @param vertex2 The second vertex.
      */
     public void addEdge(T vertex1, T vertex2) {
+        addEdge(vertex1, vertex2, UNIT_WEIGHT);
+    }
+
+    /**
+     * Adds an undirected, weighted edge between two vertices.
+     * @param vertex1 The first vertex.
+     * @param vertex2 The second vertex.
+     * @param weight The weight (cost or distance) of the edge.
+     */
+    public void addEdge(T vertex1, T vertex2, double weight) {
         // Ensure both vertices exist in the graph
         addVertex(vertex1);
         addVertex(vertex2);
 
         // Add edge from vertex1 to vertex2
-        adjacencyList.get(vertex1).add(vertex2);
+        addArc(vertex1, vertex2, weight);
         // Add edge from vertex2 to vertex1 for an undirected graph
-        adjacencyList.get(vertex2).add(vertex1);
+        addArc(vertex2, vertex1, weight);
+    }
+
+    /**
+     * Adds a directed edge, which can only be followed from {@code from} to {@code to}.
+     * @param from The vertex the edge starts at.
+     * @param to The vertex the edge ends at.
+     */
+    public void addDirectedEdge(T from, T to) {
+        addDirectedEdge(from, to, UNIT_WEIGHT);
+    }
+
+    /**
+     * Adds a directed, weighted edge, which can only be followed from {@code from} to {@code to}.
+     * @param from The vertex the edge starts at.
+     * @param to The vertex the edge ends at.
+     * @param weight The weight (cost or distance) of the edge.
+     */
+    public void addDirectedEdge(T from, T to, double weight) {
+        addVertex(from);
+        addVertex(to);
+        addArc(from, to, weight);
+        directed = true;
+    }
+
+    private void addArc(T from, T to, double weight) {
+        adjacencyList.get(from).add(to);
+        if (weights == null && weight != 1.0) {
+            weights = new HashMap<>();
+            for (Map.Entry<T, List<T>> entry : adjacencyList.entrySet()) {
+                // The arc being added is already in the adjacency list; it gets its weight below.
+                int unitWeights = entry.getValue().size() - (entry.getKey().equals(from) ? 1 : 0);
+                weights.put(entry.getKey(), new ArrayList<>(Collections.nCopies(unitWeights, UNIT_WEIGHT)));
+            }
+        }
+        if (weights != null) {
+            // Share one box for the common unit weight.
+            weights.get(from).add(weight == 1.0 ? UNIT_WEIGHT : Double.valueOf(weight));
+        }
     }
 
     /**
@@ -54,6 +115,36 @@ public class Graph<T> {
         return adjacencyList.getOrDefault(vertex, new LinkedList<>());
     }
 
+    /**
+     * Gets the weights of the edges leaving a vertex, in the same order as
+     * {@link #getNeighbors(Object)}.
+     * @param vertex The vertex to get the edge weights of.
+     * @return A list of edge weights.
+     */
+    public List<Double> getEdgeWeights(T vertex) {
+        if (weights == null) {
+            return Collections.nCopies(getNeighbors(vertex).size(), UNIT_WEIGHT);
+        }
+        return weights.getOrDefault(vertex, new LinkedList<>());
+    }
+
+    /**
+     * Tells whether any edge has a weight other than 1.
+     * @return true if the graph is weighted.
+     */
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Tells whether any directed edge was added. If not, every edge can be followed both ways
+     * and each vertex's neighbors are also the vertices that lead to it.
+     * @return true if the graph is directed.
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
     /**
      * Gets all vertices in the graph.
      * @return A set of all vertices.
@@ -62,6 +153,14 @@ public class Graph<T> {
         return adjacencyList.keySet();
     }
 
+    /**
+     * Builds an immutable, int-indexed copy of this graph for fast traversals.
+     * @return The graph in compressed sparse row form.
+     */
+    public CsrGraph<T> freeze() {
+        return CsrGraph.of(this);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -1,11 +1,19 @@
 package com.example;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Stack;
+import java.util.function.Function;
 
 /**
  * Main application to demonstrate graph traversals (BFS and DFS).
@@ -23,6 +31,30 @@ public class GraphTraversalDemo {
      */
     public static <T> void bfs(Graph<T> graph, T start) {
         System.out.print("BFS starting from " + start + ": ");
+        printAll(bfsOrder(graph, start));
+    }
+
+    /**
+     * Returns the vertices reachable from {@code start} in Breadth-First Search (BFS) order.
+     * @param graph The graph to traverse.
+     * @param start The starting vertex.
+     * @param <T> The type of the vertices.
+     * @return The vertices in the order they are visited.
+     */
+    public static <T> List<T> bfsOrder(Graph<T> graph, T start) {
+        return bfsOrder(start, graph::getNeighbors);
+    }
+
+    /**
+     * Returns the vertices reachable from {@code start} in Breadth-First Search (BFS) order,
+     * looking up each vertex's neighbors through {@code neighbors}.
+     * @param start The starting vertex.
+     * @param neighbors The neighbors of a vertex.
+     * @param <T> The type of the vertices.
+     * @return The vertices in the order they are visited.
+     */
+    private static <T> List<T> bfsOrder(T start, Function<T, ? extends Iterable<T>> neighbors) {
+        List<T> order = new ArrayList<>();
         Set<T> visited = new HashSet<>();
         Queue<T> queue = new LinkedList<>();
 
@@ -31,16 +63,40 @@ public class GraphTraversalDemo {
 
         while (!queue.isEmpty()) {
             T vertex = queue.poll();
-            System.out.print(vertex + " ");
+            order.add(vertex);
 
-            for (T neighbor : graph.getNeighbors(vertex)) {
+            for (T neighbor : neighbors.apply(vertex)) {
                 if (!visited.contains(neighbor)) {
                     visited.add(neighbor);
                     queue.add(neighbor);
                 }
             }
         }
-        System.out.println();
+        return order;
+    }
+
+    /**
+     * Performs a Breadth-First Search (BFS) on a concurrent graph starting from a given vertex.
+     * @param graph The graph to traverse.
+     * @param start The starting vertex.
+     * @param <T> The type of the vertices.
+     */
+    public static <T> void bfs(ConcurrentGraph<T> graph, T start) {
+        System.out.print("BFS (concurrent) starting from " + start + ": ");
+        printAll(bfsOrder(graph, start));
+    }
+
+    /**
+     * Returns the vertices reachable from {@code start} in Breadth-First Search (BFS) order. Safe
+     * to call while other threads add edges; it follows the neighbors each vertex had when the
+     * search reached it.
+     * @param graph The graph to traverse.
+     * @param start The starting vertex.
+     * @param <T> The type of the vertices.
+     * @return The vertices in the order they are visited.
+     */
+    public static <T> List<T> bfsOrder(ConcurrentGraph<T> graph, T start) {
+        return bfsOrder(start, graph::getNeighbors);
     }
 
     /**
@@ -52,6 +108,19 @@ public class GraphTraversalDemo {
      */
     public static <T> void dfs(Graph<T> graph, T start) {
         System.out.print("DFS starting from " + start + ": ");
+        printAll(dfsOrder(graph, start));
+    }
+
+    /**
+     * Returns the vertices reachable from {@code start} in Depth-First Search (DFS) order.
+     * This is the iterative version using a Stack.
+     * @param graph The graph to traverse.
+     * @param start The starting vertex.
+     * @param <T> The type of the vertices.
+     * @return The vertices in the order they are visited.
+     */
+    public static <T> List<T> dfsOrder(Graph<T> graph, T start) {
+        List<T> order = new ArrayList<>();
         Set<T> visited = new HashSet<>();
         Stack<T> stack = new Stack<>();
 
@@ -62,7 +131,7 @@ public class GraphTraversalDemo {
 
             if (!visited.contains(vertex)) {
                 visited.add(vertex);
-                System.out.print(vertex + " ");
+                order.add(vertex);
 
                 for (T neighbor : graph.getNeighbors(vertex)) {
                     if (!visited.contains(neighbor)) {
@@ -71,11 +140,209 @@ public class GraphTraversalDemo {
                 }
             }
         }
+        return order;
+    }
+
+    /**
+     * Performs a Breadth-First Search (BFS) on a frozen graph starting from a given vertex.
+     * @param graph The graph to traverse.
+     * @param start The starting vertex.
+     * @param <T> The type of the vertices.
+     */
+    public static <T> void bfs(CsrGraph<T> graph, T start) {
+        System.out.print("BFS (CSR) starting from " + start + ": ");
+        printAll(graph, bfsOrder(graph, graph.idOf(start)));
+    }
+
+    /**
+     * Returns the ids of the vertices reachable from {@code start} in BFS order. The queue is a
+     * plain {@code int[]}: every vertex enters it at most once, so it never needs to wrap.
+     * @param graph The graph to traverse.
+     * @param start The id of the starting vertex.
+     * @return The vertex ids in the order they are visited.
+     */
+    public static int[] bfsOrder(CsrGraph<?> graph, int start) {
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = start;
+        visited[start] = true;
+
+        while (head < tail) {
+            int vertex = queue[head++];
+
+            for (int i = graph.firstNeighbor(vertex), end = graph.firstNeighbor(vertex + 1); i < end; i++) {
+                int neighbor = graph.neighborAt(i);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        // The queue holds every visited vertex in order.
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Performs a Depth-First Search (DFS) on a frozen graph starting from a given vertex.
+     * @param graph The graph to traverse.
+     * @param start The starting vertex.
+     * @param <T> The type of the vertices.
+     */
+    public static <T> void dfs(CsrGraph<T> graph, T start) {
+        System.out.print("DFS (CSR) starting from " + start + ": ");
+        printAll(graph, dfsOrder(graph, graph.idOf(start)));
+    }
+
+    /**
+     * Returns the ids of the vertices reachable from {@code start} in DFS order, visiting them
+     * in the same order as {@link #dfsOrder(Graph, Object)}.
+     * @param graph The graph to traverse.
+     * @param start The id of the starting vertex.
+     * @return The vertex ids in the order they are visited.
+     */
+    public static int[] dfsOrder(CsrGraph<?> graph, int start) {
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] order = new int[graph.vertexCount()];
+        int visitedCount = 0;
+        // Each adjacency entry is pushed at most once, plus the start.
+        int[] stack = new int[graph.edgeCount() + 1];
+        int top = 0;
+
+        stack[top++] = start;
+
+        while (top > 0) {
+            int vertex = stack[--top];
+
+            if (!visited[vertex]) {
+                visited[vertex] = true;
+                order[visitedCount++] = vertex;
+
+                for (int i = graph.firstNeighbor(vertex), end = graph.firstNeighbor(vertex + 1); i < end; i++) {
+                    int neighbor = graph.neighborAt(i);
+                    if (!visited[neighbor]) {
+                        stack[top++] = neighbor;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(order, visitedCount);
+    }
+
+    /**
+     * Performs a Breadth-First Search (BFS) on a memory-mapped graph starting from a given vertex.
+     * @param graph The graph to traverse.
+     * @param start The starting vertex.
+     * @param <T> The type of the vertices.
+     */
+    public static <T> void bfs(MappedGraph<T> graph, T start) {
+        System.out.print("BFS (mapped) starting from " + start + ": ");
+        for (int id : bfsOrder(graph, graph.idOf(start))) {
+            System.out.print(graph.vertexOf(id) + " ");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Returns the ids of the vertices reachable from {@code start} in BFS order, reading every
+     * neighbor straight from the mapped file.
+     * @param graph The graph to traverse.
+     * @param start The id of the starting vertex.
+     * @return The vertex ids in the order they are visited.
+     */
+    public static int[] bfsOrder(MappedGraph<?> graph, int start) {
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] queue = new int[graph.vertexCount()];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = start;
+        visited[start] = true;
+
+        while (head < tail) {
+            int vertex = queue[head++];
+
+            for (long i = graph.firstNeighbor(vertex), end = graph.firstNeighbor(vertex + 1); i < end; i++) {
+                int neighbor = graph.neighborAt(i);
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        return Arrays.copyOf(queue, tail);
+    }
+
+    /**
+     * Performs a Depth-First Search (DFS) on a memory-mapped graph starting from a given vertex.
+     * @param graph The graph to traverse.
+     * @param start The starting vertex.
+     * @param <T> The type of the vertices.
+     */
+    public static <T> void dfs(MappedGraph<T> graph, T start) {
+        System.out.print("DFS (mapped) starting from " + start + ": ");
+        for (int id : dfsOrder(graph, graph.idOf(start))) {
+            System.out.print(graph.vertexOf(id) + " ");
+        }
         System.out.println();
     }
 
+    /**
+     * Returns the ids of the vertices reachable from {@code start} in DFS order, reading every
+     * neighbor straight from the mapped file.
+     * @param graph The graph to traverse.
+     * @param start The id of the starting vertex.
+     * @return The vertex ids in the order they are visited.
+     */
+    public static int[] dfsOrder(MappedGraph<?> graph, int start) {
+        boolean[] visited = new boolean[graph.vertexCount()];
+        int[] order = new int[graph.vertexCount()];
+        int visitedCount = 0;
+        // A file may hold more adjacency entries than an array can, so the stack grows as needed.
+        int[] stack = new int[Math.max(16, graph.vertexCount())];
+        int top = 0;
+
+        stack[top++] = start;
+
+        while (top > 0) {
+            int vertex = stack[--top];
 
-    public static void main(String[] args) {
+            if (!visited[vertex]) {
+                visited[vertex] = true;
+                order[visitedCount++] = vertex;
+
+                for (long i = graph.firstNeighbor(vertex), end = graph.firstNeighbor(vertex + 1); i < end; i++) {
+                    int neighbor = graph.neighborAt(i);
+                    if (!visited[neighbor]) {
+                        if (top == stack.length) {
+                            stack = Arrays.copyOf(stack, stack.length * 2);
+                        }
+                        stack[top++] = neighbor;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(order, visitedCount);
+    }
+
+    private static <T> void printAll(List<T> vertices) {
+        for (T vertex : vertices) {
+            System.out.print(vertex + " ");
+        }
+        System.out.println();
+    }
+
+    private static <T> void printAll(CsrGraph<T> graph, int[] ids) {
+        for (int id : ids) {
+            System.out.print(graph.vertexOf(id) + " ");
+        }
+        System.out.println();
+    }
+
+
+    public static void main(String[] args) throws IOException {
         // --- Build a Sample Graph (a simple social network) ---
         Graph<String> socialNetwork = new Graph<>();
         socialNetwork.addEdge("Alice", "Bob");
@@ -92,5 +359,107 @@ public class GraphTraversalDemo {
         // --- Perform Traversals ---
         bfs(socialNetwork, "Alice");
         dfs(socialNetwork, "Alice");
+
+        // --- The same traversals on the frozen, int-indexed copy ---
+        CsrGraph<String> frozen = socialNetwork.freeze();
+        System.out.println();
+        System.out.println("Frozen Graph (CSR): " + frozen.vertexCount() + " vertices, "
+                + frozen.edgeCount() + " adjacency entries");
+        bfs(frozen, "Alice");
+        dfs(frozen, "Alice");
+
+        // --- Distances from a parallel BFS ---
+        ParallelBfs.Result result = new ParallelBfs().search(frozen, frozen.idOf("Alice"));
+        System.out.print("Parallel BFS distances from Alice: ");
+        for (int id = 0; id < frozen.vertexCount(); id++) {
+            System.out.print(frozen.vertexOf(id) + "=" + result.distanceTo(id) + " ");
+        }
+        System.out.println();
+
+        // --- Weighted shortest paths on a small road map (km), with one one-way street ---
+        Map<String, double[]> positions = new HashMap<>();
+        positions.put("Harbor", new double[] {0, 0});
+        positions.put("Market", new double[] {3, 1});
+        positions.put("Castle", new double[] {1, 4});
+        positions.put("Bridge", new double[] {5, 3});
+        positions.put("Station", new double[] {8, 4});
+        Graph<String> roads = new Graph<>();
+        roads.addEdge("Harbor", "Market", 3.5);
+        roads.addEdge("Harbor", "Castle", 4.5);
+        roads.addEdge("Market", "Bridge", 3.0);
+        roads.addEdge("Castle", "Bridge", 4.2);
+        roads.addEdge("Bridge", "Station", 3.3);
+        roads.addDirectedEdge("Market", "Station", 6.0);
+
+        ShortestPaths<String> paths = ShortestPaths.of(roads);
+        System.out.println();
+        System.out.println("Dijkstra Harbor -> Station: " + paths.dijkstra("Harbor", "Station").orElseThrow());
+        System.out.println("A* Harbor -> Station: " + paths.aStar("Harbor", "Station", (from, to) -> {
+            double[] a = positions.get(from);
+            double[] b = positions.get(to);
+            return Math.hypot(a[0] - b[0], a[1] - b[1]);
+        }).orElseThrow());
+        System.out.println("Bidirectional Station -> Harbor: " + paths.bidirectional("Station", "Harbor").orElseThrow());
+
+        // --- Write the social network to a file and traverse it memory-mapped ---
+        Path file = Files.createTempFile("social-network", ".graph");
+        try {
+            MappedGraph.write(socialNetwork, file, VertexCodec.STRING);
+            MappedGraph<String> mapped = MappedGraph.open(file, VertexCodec.STRING);
+            System.out.println();
+            System.out.println("Mapped Graph: " + Files.size(file) + " bytes, " + mapped.vertexCount() + " vertices");
+            bfs(mapped, "Alice");
+            dfs(mapped, "Alice");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        // --- Add friendships from several threads while traversing ---
+        System.out.println();
+        System.out.println("Concurrent Graph:");
+        ConcurrentGraph<String> liveNetwork = new ConcurrentGraph<>();
+        String[][] friendships = {
+                {"Alice", "Bob"}, {"Alice", "Charlie"}, {"Bob", "David"},
+                {"Charlie", "Eve"}, {"David", "Eve"}, {"Eve", "Frank"}};
+        Thread[] writers = new Thread[2];
+        for (int w = 0; w < writers.length; w++) {
+            int writer = w;
+            writers[w] = new Thread(() -> {
+                for (int i = writer; i < friendships.length; i += writers.length) {
+                    liveNetwork.addEdge(friendships[i][0], friendships[i][1]);
+                }
+            });
+            writers[w].start();
+        }
+        // Readers need no lock; this search sees whatever friendships exist so far.
+        System.out.print("BFS while adding, starting from Alice: ");
+        printAll(bfsOrder(liveNetwork, "Alice"));
+        for (Thread writer : writers) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        System.out.println(liveNetwork.vertexCount() + " vertices, "
+                + liveNetwork.edgeCount() + " adjacency entries after the adds");
+        bfs(liveNetwork, "Alice");
+
+        // --- Load an edge list file in parallel ---
+        Path edges = Files.createTempFile("edges", ".csv");
+        try {
+            Files.write(edges, List.of("source,target", "1,2", "1,3", "2,4", "3,4", "4,5"));
+            System.out.println();
+            CsrGraph<Long> loaded = new EdgeListLoader()
+                    .onProgress((bytesParsed, totalBytes, edgesParsed) ->
+                            System.out.println("Parsed " + bytesParsed + " of " + totalBytes + " bytes, " + edgesParsed + " edges"))
+                    .loadCsr(edges);
+            System.out.println("Loaded CSR Graph:");
+            System.out.print(loaded);
+            bfs(loaded, 1L);
+        } finally {
+            Files.deleteIfExists(edges);
+        }
     }
 }
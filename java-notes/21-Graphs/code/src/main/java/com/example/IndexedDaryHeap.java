@@ -0,0 +1,123 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * A min-heap of vertex ids keyed by {@code double} priorities, with decrease-key. Everything is
+ * kept in primitive arrays: the ids in heap order, their keys alongside them, and each id's
+ * position in the heap, so an update finds its entry directly instead of inserting a duplicate.
+ *
+ * <p>Each node has {@code arity} children instead of 2. The heap is shallower, so the
+ * decrease-keys that dominate Dijkstra's algorithm sift up through fewer levels, and the
+ * children compared on the way down sit next to each other in memory. Not thread-safe.</p>
+ */
+final class IndexedDaryHeap {
+
+    private static final int ABSENT = -1;
+
+    private final int arity;
+    private final int[] ids;
+    private final double[] keys;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * @param capacity One more than the largest id that will be added.
+     * @param arity The number of children per node, at least 2.
+     */
+    IndexedDaryHeap(int capacity, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("A heap needs at least 2 children per node, got " + arity);
+        }
+        this.arity = arity;
+        this.ids = new int[capacity];
+        this.keys = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Returns the smallest key; the heap must not be empty. */
+    double peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Adds an id, or lowers its key if it is already queued with a higher one.
+     * @param id The id to queue.
+     * @param key Its priority; smaller comes out first.
+     */
+    void offer(int id, double key) {
+        int position = positions[id];
+        if (position == ABSENT) {
+            siftUp(size++, id, key);
+        } else if (key < keys[position]) {
+            siftUp(position, id, key);
+        }
+    }
+
+    /** Removes and returns the id with the smallest key; the heap must not be empty. */
+    int poll() {
+        int first = ids[0];
+        positions[first] = ABSENT;
+        size--;
+        if (size > 0) {
+            siftDown(0, ids[size], keys[size]);
+        }
+        return first;
+    }
+
+    /** Empties the heap in time proportional to its size. */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[ids[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position, int id, double key) {
+        while (position > 0) {
+            int parent = (position - 1) / arity;
+            if (keys[parent] <= key) {
+                break;
+            }
+            place(position, ids[parent], keys[parent]);
+            position = parent;
+        }
+        place(position, id, key);
+    }
+
+    private void siftDown(int position, int id, double key) {
+        while (true) {
+            int firstChild = position * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int smallest = firstChild;
+            for (int child = firstChild + 1, end = Math.min(firstChild + arity, size); child < end; child++) {
+                if (keys[child] < keys[smallest]) {
+                    smallest = child;
+                }
+            }
+            if (keys[smallest] >= key) {
+                break;
+            }
+            place(position, ids[smallest], keys[smallest]);
+            position = smallest;
+        }
+        place(position, id, key);
+    }
+
+    private void place(int position, int id, double key) {
+        ids[position] = id;
+        keys[position] = key;
+        positions[id] = position;
+    }
+}
@@ -0,0 +1,388 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only graph stored in a file and memory-mapped instead of loaded. Opening one reads the
+ * header and maps the rest of the file, whatever the graph's size; neighbors, weights and
+ * vertices are read from the mapping when they are asked for, and the operating system pages
+ * them in and out. The graph lives outside the Java heap and several processes can share the
+ * same pages of one file.
+ *
+ * <p>The file holds the same compressed sparse row (CSR) layout as {@link CsrGraph}, with
+ * {@code long} offsets so that it is not limited to 2<sup>31</sup> adjacency entries. All numbers
+ * are little-endian and every section starts at a multiple of 8 bytes:</p>
+ * <pre>
+ * header      magic "GRPH", version, flags (1 = weighted, 2 = directed), vertex count,
+ *             adjacency entry count, dictionary size, hash slot count, then the position of
+ *             each section below (96 bytes in all)
+ * offsets     long[vertexCount + 1]   where each vertex's neighbors start
+ * neighbors   int[entryCount]         neighbor ids
+ * weights     double[entryCount]      edge weights, only if weighted
+ * dictionary  long[vertexCount + 1]   where each vertex's bytes start in the blob
+ * hash        int[hashSlots]          open-addressing index from vertex bytes to id + 1
+ * blob        byte[]                  every vertex encoded by a {@link VertexCodec}
+ * </pre>
+ * <p>The hash slot of a vertex is {@code Arrays.hashCode(bytes)}, mixed, modulo the slot count,
+ * probing linearly, so {@link #idOf} needs no in-memory dictionary either.</p>
+ *
+ * <p>The mapping is released when this object is garbage collected; Java has no supported way to
+ * unmap it earlier.</p>
+ *
+ * @param <T> The type of the vertices.
+ */
+public final class MappedGraph<T> {
+
+    private static final int MAGIC = 0x48505247; // "GRPH" read as a little-endian int
+    private static final int VERSION = 1;
+    private static final int WEIGHTED = 1;
+    private static final int DIRECTED = 2;
+    private static final int HEADER_BYTES = 96;
+    // Keeps the hash index, at two slots or more per vertex, within an int slot count.
+    private static final int MAX_VERTICES = 1 << 29;
+
+    private final VertexCodec<T> codec;
+    private final int flags;
+    private final int vertexCount;
+    private final long edgeCount;
+    private final int hashSlots;
+    private final MappedRegion offsets;
+    private final MappedRegion neighbors;
+    private final MappedRegion weights;
+    private final MappedRegion dictionary;
+    private final MappedRegion hash;
+    private final MappedRegion blob;
+
+    private MappedGraph(FileChannel channel, ByteBuffer header, VertexCodec<T> codec) throws IOException {
+        this.codec = codec;
+        this.flags = header.getInt(8);
+        this.vertexCount = header.getInt(12);
+        this.edgeCount = header.getLong(16);
+        long blobBytes = header.getLong(24);
+        this.hashSlots = header.getInt(32);
+        long offsetsAt = header.getLong(40);
+        long neighborsAt = header.getLong(48);
+        long weightsAt = header.getLong(56);
+        long dictionaryAt = header.getLong(64);
+        long hashAt = header.getLong(72);
+        long blobAt = header.getLong(80);
+        if (blobAt + blobBytes > channel.size()) {
+            throw new IOException("Graph file is truncated: expected " + (blobAt + blobBytes)
+                    + " bytes, found " + channel.size());
+        }
+        this.offsets = new MappedRegion(channel, offsetsAt, (vertexCount + 1L) * Long.BYTES);
+        this.neighbors = new MappedRegion(channel, neighborsAt, edgeCount * Integer.BYTES);
+        this.weights = (flags & WEIGHTED) != 0
+                ? new MappedRegion(channel, weightsAt, edgeCount * Double.BYTES) : null;
+        this.dictionary = new MappedRegion(channel, dictionaryAt, (vertexCount + 1L) * Long.BYTES);
+        this.hash = new MappedRegion(channel, hashAt, (long) hashSlots * Integer.BYTES);
+        this.blob = new MappedRegion(channel, blobAt, blobBytes);
+    }
+
+    /**
+     * Maps a graph file written by {@link #write}.
+     * @param file The file to open.
+     * @param codec The codec the file was written with.
+     * @param <T> The type of the vertices.
+     * @return The mapped graph.
+     * @throws IOException if the file cannot be read or is not a graph file.
+     */
+    public static <T> MappedGraph<T> open(Path file, VertexCodec<T> codec) throws IOException {
+        // The mappings stay valid after the channel is closed.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a graph file");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(file + " has graph format version " + header.getInt(4) + ", expected " + VERSION);
+            }
+            return new MappedGraph<>(channel, header, codec);
+        }
+    }
+
+    /**
+     * Writes a graph to a file, freezing it first.
+     * @param graph The graph to write.
+     * @param file The file to create or replace.
+     * @param codec Encodes the vertices for the dictionary.
+     * @param <T> The type of the vertices.
+     * @throws IOException if the file cannot be written.
+     */
+    public static <T> void write(Graph<T> graph, Path file, VertexCodec<T> codec) throws IOException {
+        write(graph.freeze(), file, codec);
+    }
+
+    /**
+     * Writes a frozen graph to a file. Vertex ids are kept, so ids from {@code graph} are valid
+     * in the opened file too.
+     * @param graph The graph to write.
+     * @param file The file to create or replace.
+     * @param codec Encodes the vertices for the dictionary.
+     * @param <T> The type of the vertices.
+     * @throws IOException if the file cannot be written.
+     */
+    public static <T> void write(CsrGraph<T> graph, Path file, VertexCodec<T> codec) throws IOException {
+        int vertexCount = graph.vertexCount();
+        long edgeCount = graph.edgeCount();
+        if (vertexCount > MAX_VERTICES) {
+            throw new IllegalArgumentException("A graph file holds at most " + MAX_VERTICES + " vertices, got " + vertexCount);
+        }
+        byte[][] encoded = new byte[vertexCount][];
+        long blobBytes = 0;
+        for (int id = 0; id < vertexCount; id++) {
+            encoded[id] = codec.encode(graph.vertexOf(id));
+            blobBytes += encoded[id].length;
+        }
+        // At most half full, so probe sequences stay short.
+        int hashSlots = Integer.highestOneBit(Math.max(vertexCount, 1) * 2 - 1) << 1;
+        int[] slots = new int[hashSlots];
+        for (int id = 0; id < vertexCount; id++) {
+            int slot = slot(encoded[id], hashSlots);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (hashSlots - 1);
+            }
+            slots[slot] = id + 1;
+        }
+
+        long offsetsAt = HEADER_BYTES;
+        long neighborsAt = align(offsetsAt + (vertexCount + 1L) * Long.BYTES);
+        long weightsAt = align(neighborsAt + edgeCount * Integer.BYTES);
+        long dictionaryAt = graph.isWeighted() ? align(weightsAt + edgeCount * Double.BYTES) : weightsAt;
+        long hashAt = align(dictionaryAt + (vertexCount + 1L) * Long.BYTES);
+        long blobAt = align(hashAt + (long) hashSlots * Integer.BYTES);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             Output out = new Output(channel)) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt((graph.isWeighted() ? WEIGHTED : 0) | (graph.isDirected() ? DIRECTED : 0));
+            out.putInt(vertexCount);
+            out.putLong(edgeCount);
+            out.putLong(blobBytes);
+            out.putInt(hashSlots);
+            out.putInt(0);
+            out.putLong(offsetsAt);
+            out.putLong(neighborsAt);
+            out.putLong(weightsAt);
+            out.putLong(dictionaryAt);
+            out.putLong(hashAt);
+            out.putLong(blobAt);
+            out.padTo(offsetsAt);
+
+            for (int id = 0; id <= vertexCount; id++) {
+                out.putLong(graph.firstNeighbor(id));
+            }
+            out.padTo(neighborsAt);
+            for (int i = 0; i < edgeCount; i++) {
+                out.putInt(graph.neighborAt(i));
+            }
+            out.padTo(weightsAt);
+            if (graph.isWeighted()) {
+                for (int i = 0; i < edgeCount; i++) {
+                    out.putDouble(graph.weightAt(i));
+                }
+                out.padTo(dictionaryAt);
+            }
+            long blobOffset = 0;
+            for (int id = 0; id < vertexCount; id++) {
+                out.putLong(blobOffset);
+                blobOffset += encoded[id].length;
+            }
+            out.putLong(blobOffset);
+            out.padTo(hashAt);
+            for (int slot : slots) {
+                out.putInt(slot);
+            }
+            out.padTo(blobAt);
+            for (byte[] bytes : encoded) {
+                out.put(bytes);
+            }
+        }
+    }
+
+    /**
+     * @return The number of vertices.
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return The number of adjacency entries; each undirected edge is counted once per endpoint.
+     */
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return true if any edge has a weight other than 1.
+     */
+    public boolean isWeighted() {
+        return (flags & WEIGHTED) != 0;
+    }
+
+    /**
+     * @return true if the graph has directed edges.
+     */
+    public boolean isDirected() {
+        return (flags & DIRECTED) != 0;
+    }
+
+    /**
+     * Gets the id of a vertex by probing the file's hash index.
+     * @param vertex The vertex to look up.
+     * @return Its id, or -1 if it is not in the graph.
+     */
+    public int idOf(T vertex) {
+        byte[] bytes = codec.encode(vertex);
+        for (int slot = slot(bytes, hashSlots); ; slot = (slot + 1) & (hashSlots - 1)) {
+            int entry = hash.getInt((long) slot * Integer.BYTES);
+            if (entry == 0) {
+                return -1;
+            }
+            int id = entry - 1;
+            if (Arrays.equals(bytes, vertexBytes(id))) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Gets the vertex with a given id, decoding it from the file.
+     * @param id An id between 0 and {@code vertexCount() - 1}.
+     * @return The vertex.
+     */
+    public T vertexOf(int id) {
+        return codec.decode(vertexBytes(id));
+    }
+
+    /**
+     * Gets the number of neighbors of a vertex.
+     * @param id The id of the vertex.
+     * @return Its degree.
+     */
+    public int degree(int id) {
+        return (int) (firstNeighbor(id + 1) - firstNeighbor(id));
+    }
+
+    /**
+     * Gets the position of the first neighbor of a vertex, for use with {@link #neighborAt}.
+     * @param id The id of the vertex, or {@code vertexCount()} for the end of the last one.
+     * @return The position of its first neighbor.
+     */
+    public long firstNeighbor(int id) {
+        return offsets.getLong((long) id * Long.BYTES);
+    }
+
+    /**
+     * Gets the neighbor stored at a position.
+     * @param index A position between 0 and {@code edgeCount() - 1}.
+     * @return The id of the neighbor.
+     */
+    public int neighborAt(long index) {
+        return neighbors.getInt(index * Integer.BYTES);
+    }
+
+    /**
+     * Gets the weight of the edge stored at a position.
+     * @param index A position between 0 and {@code edgeCount() - 1}.
+     * @return The weight of the edge to {@code neighborAt(index)}.
+     */
+    public double weightAt(long index) {
+        return weights != null ? weights.getDouble(index * Double.BYTES) : 1.0;
+    }
+
+    private byte[] vertexBytes(int id) {
+        long start = dictionary.getLong((long) id * Long.BYTES);
+        long end = dictionary.getLong((id + 1L) * Long.BYTES);
+        byte[] bytes = new byte[(int) (end - start)];
+        blob.get(start, bytes);
+        return bytes;
+    }
+
+    private static int slot(byte[] bytes, int slots) {
+        int hash = Arrays.hashCode(bytes) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (slots - 1);
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    /** Buffers little-endian writes to a channel. */
+    private static final class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long position;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+            position += Integer.BYTES;
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+            position += Long.BYTES;
+        }
+
+        void putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+            position += Double.BYTES;
+        }
+
+        void put(byte[] bytes) throws IOException {
+            for (int written = 0; written < bytes.length; ) {
+                ensure(1);
+                int length = Math.min(bytes.length - written, buffer.remaining());
+                buffer.put(bytes, written, length);
+                written += length;
+                position += length;
+            }
+        }
+
+        void padTo(long target) throws IOException {
+            while (position < target) {
+                ensure(1);
+                buffer.put((byte) 0);
+                position++;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A read-only, little-endian view of a region of a file, memory-mapped in chunks because one
+ * {@link MappedByteBuffer} cannot exceed 2 GB. Reads are absolute, so any number of threads can
+ * share one region.
+ *
+ * <p>The region must start at a file position that is a multiple of 8. The chunk size is also a
+ * multiple of 8, so an aligned {@code int}, {@code long} or {@code double} never straddles two
+ * chunks.</p>
+ */
+final class MappedRegion {
+
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final MappedByteBuffer[] chunks;
+    // The only chunk of a region under 1 GB, read without the chunk lookup.
+    private final MappedByteBuffer single;
+
+    MappedRegion(FileChannel channel, long position, long size) throws IOException {
+        int count = (int) ((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+        chunks = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << CHUNK_SHIFT;
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + start, Math.min(size - start, 1L << CHUNK_SHIFT));
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        single = count == 1 ? chunks[0] : null;
+    }
+
+    int getInt(long offset) {
+        if (single != null) {
+            return single.getInt((int) offset);
+        }
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getInt((int) (offset & CHUNK_MASK));
+    }
+
+    long getLong(long offset) {
+        if (single != null) {
+            return single.getLong((int) offset);
+        }
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getLong((int) (offset & CHUNK_MASK));
+    }
+
+    double getDouble(long offset) {
+        if (single != null) {
+            return single.getDouble((int) offset);
+        }
+        return chunks[(int) (offset >>> CHUNK_SHIFT)].getDouble((int) (offset & CHUNK_MASK));
+    }
+
+    /** Copies {@code bytes.length} bytes starting at {@code offset}, which may span chunks. */
+    void get(long offset, byte[] bytes) {
+        int copied = 0;
+        while (copied < bytes.length) {
+            long at = offset + copied;
+            MappedByteBuffer chunk = chunks[(int) (at >>> CHUNK_SHIFT)];
+            int from = (int) (at & CHUNK_MASK);
+            int length = Math.min(bytes.length - copied, chunk.limit() - from);
+            // Absolute bulk get only arrived in Java 13; a duplicate keeps this thread-safe.
+            chunk.duplicate().position(from).get(bytes, copied, length);
+            copied += length;
+        }
+    }
+}
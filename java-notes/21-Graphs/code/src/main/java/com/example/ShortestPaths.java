@@ -0,0 +1,344 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Shortest paths over the weighted, possibly directed edges of a {@link CsrGraph}: Dijkstra's
+ * algorithm from one vertex to all others or to a single target, A* with a caller-supplied
+ * heuristic, and bidirectional Dijkstra. Each search takes either the vertices themselves or,
+ * through its {@code ...ById} variant, their ids in the graph; the names differ so that a
+ * {@code Graph<Integer>} cannot mistake one for the other. Use {@link #of(Graph)} to search a
+ * {@link Graph}.
+ *
+ * <p>The priority queue is an {@link IndexedDaryHeap}, so a relaxed vertex has its key lowered in
+ * place instead of being queued again as a new boxed entry. Point-to-point searches stop as soon
+ * as the target's distance is final. Their working arrays are allocated once per instance and
+ * only the vertices a search touched are reset before the next one, so a short query on a large
+ * graph costs as much as the part of the graph it explores. An instance is therefore not
+ * thread-safe; create one per thread.</p>
+ *
+ * <p>Edge weights must not be negative.</p>
+ *
+ * @param <T> The type of the vertices.
+ */
+public class ShortestPaths<T> {
+
+    /**
+     * An estimate of the remaining distance for A*. It must never overestimate and must be
+     * consistent: for every edge {@code u -> v} of weight {@code w},
+     * {@code estimate(u, target) <= w + estimate(v, target)}. The straight-line distance on a map
+     * is the classic example.
+     */
+    public interface Heuristic {
+        double estimate(int vertex, int target);
+    }
+
+    /**
+     * A shortest path found by a search, and how many vertices the search settled to find it.
+     * @param <T> The type of the vertices.
+     */
+    public static final class Path<T> {
+        private final CsrGraph<T> graph;
+        private final int[] ids;
+        private final double distance;
+        private final int settled;
+
+        Path(CsrGraph<T> graph, int[] ids, double distance, int settled) {
+            this.graph = graph;
+            this.ids = ids;
+            this.distance = distance;
+            this.settled = settled;
+        }
+
+        /**
+         * @return The total weight of the path.
+         */
+        public double getDistance() {
+            return distance;
+        }
+
+        /**
+         * @return The ids of the vertices on the path, from the source to the target.
+         */
+        public int[] getIds() {
+            return ids.clone();
+        }
+
+        /**
+         * @return The vertices on the path, from the source to the target.
+         */
+        public List<T> getVertices() {
+            List<T> vertices = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                vertices.add(graph.vertexOf(id));
+            }
+            return vertices;
+        }
+
+        /**
+         * @return The number of vertices taken off the priority queue, a measure of the work done.
+         */
+        public int getSettledCount() {
+            return settled;
+        }
+
+        @Override
+        public String toString() {
+            return getVertices() + " (distance " + distance + ")";
+        }
+    }
+
+    private static final int HEAP_ARITY = 4;
+    private static final int NONE = -1;
+
+    private final CsrGraph<T> graph;
+    private final Search forward;
+    // Runs on the transposed graph; created by the first bidirectional search.
+    private Search backward;
+
+    /**
+     * Creates an engine for a graph.
+     * @param graph The graph to search.
+     * @throws IllegalArgumentException if an edge has a negative or NaN weight.
+     */
+    public ShortestPaths(CsrGraph<T> graph) {
+        for (int i = 0; i < graph.edgeCount(); i++) {
+            double weight = graph.weightAt(i);
+            if (!(weight >= 0)) {
+                throw new IllegalArgumentException("Edge weights must not be negative, found " + weight);
+            }
+        }
+        this.graph = graph;
+        this.forward = new Search(graph);
+    }
+
+    /**
+     * Creates an engine for a graph, freezing it first.
+     * @param graph The graph to search.
+     * @param <T> The type of the vertices.
+     * @return An engine over a frozen copy of {@code graph}.
+     */
+    public static <T> ShortestPaths<T> of(Graph<T> graph) {
+        return new ShortestPaths<>(graph.freeze());
+    }
+
+    /**
+     * @return The graph this engine searches.
+     */
+    public CsrGraph<T> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm over the whole graph.
+     * @param source The id of the starting vertex.
+     * @return The distance to every vertex id, {@link Double#POSITIVE_INFINITY} where unreachable.
+     */
+    public double[] distancesFrom(int source) {
+        forward.start(source);
+        while (!forward.heap.isEmpty()) {
+            forward.relax(forward.heap.poll(), NONE, null);
+        }
+        return forward.distances.clone();
+    }
+
+    /**
+     * Finds a shortest path with Dijkstra's algorithm, stopping once the target is settled.
+     * @param source The id of the starting vertex.
+     * @param target The id of the vertex to reach.
+     * @return The path, or empty if the target cannot be reached.
+     */
+    public Optional<Path<T>> dijkstraById(int source, int target) {
+        return aStarById(source, target, null);
+    }
+
+    /**
+     * Finds a shortest path with Dijkstra's algorithm, stopping once the target is settled.
+     * @param source The starting vertex.
+     * @param target The vertex to reach.
+     * @return The path, or empty if the target cannot be reached.
+     * @throws IllegalArgumentException if either vertex is not in the graph.
+     */
+    public Optional<Path<T>> dijkstra(T source, T target) {
+        return dijkstraById(idOf(source), idOf(target));
+    }
+
+    /**
+     * Finds a shortest path with A*, which settles vertices in order of their distance from the
+     * source plus the estimated distance to the target, so it heads toward the target instead of
+     * spreading out evenly.
+     * @param source The id of the starting vertex.
+     * @param target The id of the vertex to reach.
+     * @param heuristic The estimate of the remaining distance; null searches like Dijkstra.
+     * @return The path, or empty if the target cannot be reached.
+     */
+    public Optional<Path<T>> aStarById(int source, int target, Heuristic heuristic) {
+        forward.start(source);
+        int settled = 0;
+        while (!forward.heap.isEmpty()) {
+            int vertex = forward.heap.poll();
+            settled++;
+            if (vertex == target) {
+                return Optional.of(new Path<>(graph, forward.pathTo(target), forward.distances[target], settled));
+            }
+            forward.relax(vertex, target, heuristic);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds a shortest path with A*, using a heuristic on the vertices themselves.
+     * @param source The starting vertex.
+     * @param target The vertex to reach.
+     * @param heuristic The estimate of the remaining distance from a vertex to the target.
+     * @return The path, or empty if the target cannot be reached.
+     * @throws IllegalArgumentException if either vertex is not in the graph.
+     */
+    public Optional<Path<T>> aStar(T source, T target, ToDoubleBiFunction<? super T, ? super T> heuristic) {
+        return aStarById(idOf(source), idOf(target),
+                (vertex, goal) -> heuristic.applyAsDouble(graph.vertexOf(vertex), graph.vertexOf(goal)));
+    }
+
+    /**
+     * Finds a shortest path with bidirectional Dijkstra: one search grows from the source along
+     * the edges, another from the target against them, always advancing the one with the smaller
+     * queue. It stops once no path through the two unexplored regions could beat the best
+     * meeting point seen so far. Each search covers about half the radius, so on a large graph
+     * they settle far fewer vertices between them than a one-way search.
+     * @param source The id of the starting vertex.
+     * @param target The id of the vertex to reach.
+     * @return The path, or empty if the target cannot be reached.
+     */
+    public Optional<Path<T>> bidirectionalById(int source, int target) {
+        if (backward == null) {
+            backward = new Search(graph.transpose());
+        }
+        forward.start(source);
+        backward.start(target);
+        double best = source == target ? 0 : Double.POSITIVE_INFINITY;
+        int meeting = source == target ? source : NONE;
+        int settled = 0;
+
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()
+                && forward.heap.peekKey() + backward.heap.peekKey() < best) {
+            Search from = forward.heap.size() <= backward.heap.size() ? forward : backward;
+            Search other = from == forward ? backward : forward;
+            int vertex = from.heap.poll();
+            settled++;
+            double distance = from.distances[vertex];
+            for (int i = from.graph.firstNeighbor(vertex), end = from.graph.firstNeighbor(vertex + 1); i < end; i++) {
+                int neighbor = from.graph.neighborAt(i);
+                double candidate = distance + from.graph.weightAt(i);
+                from.reach(neighbor, candidate, vertex, candidate);
+                double through = candidate + other.distances[neighbor];
+                if (through < best) {
+                    best = through;
+                    meeting = neighbor;
+                }
+            }
+        }
+        if (meeting == NONE) {
+            return Optional.empty();
+        }
+
+        int[] toMeeting = forward.pathTo(meeting);
+        int[] fromMeeting = backward.pathTo(meeting);
+        // The backward path runs target..meeting; append it reversed, without the meeting point.
+        int[] ids = Arrays.copyOf(toMeeting, toMeeting.length + fromMeeting.length - 1);
+        for (int i = 0; i < fromMeeting.length - 1; i++) {
+            ids[toMeeting.length + i] = fromMeeting[fromMeeting.length - 2 - i];
+        }
+        return Optional.of(new Path<>(graph, ids, best, settled));
+    }
+
+    /**
+     * Finds a shortest path with bidirectional Dijkstra.
+     * @param source The starting vertex.
+     * @param target The vertex to reach.
+     * @return The path, or empty if the target cannot be reached.
+     * @throws IllegalArgumentException if either vertex is not in the graph.
+     */
+    public Optional<Path<T>> bidirectional(T source, T target) {
+        return bidirectionalById(idOf(source), idOf(target));
+    }
+
+    private int idOf(T vertex) {
+        int id = graph.idOf(vertex);
+        if (id < 0) {
+            throw new IllegalArgumentException("Vertex not in the graph: " + vertex);
+        }
+        return id;
+    }
+
+    /** The state of one search direction, reused from query to query. */
+    private static final class Search {
+        private final CsrGraph<?> graph;
+        private final double[] distances;
+        private final int[] parents;
+        private final IndexedDaryHeap heap;
+        // The vertices whose distance the current search has set, to reset before the next one.
+        private final int[] touched;
+        private int touchedCount;
+
+        Search(CsrGraph<?> graph) {
+            this.graph = graph;
+            this.distances = new double[graph.vertexCount()];
+            this.parents = new int[graph.vertexCount()];
+            this.heap = new IndexedDaryHeap(graph.vertexCount(), HEAP_ARITY);
+            this.touched = new int[graph.vertexCount()];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            Arrays.fill(parents, NONE);
+        }
+
+        void start(int source) {
+            for (int i = 0; i < touchedCount; i++) {
+                distances[touched[i]] = Double.POSITIVE_INFINITY;
+                parents[touched[i]] = NONE;
+            }
+            touchedCount = 0;
+            heap.clear();
+            reach(source, 0, NONE, 0);
+        }
+
+        /** Records a shorter distance to {@code vertex}, if it is one, and queues it. */
+        void reach(int vertex, double distance, int parent, double priority) {
+            if (distance < distances[vertex]) {
+                if (distances[vertex] == Double.POSITIVE_INFINITY) {
+                    touched[touchedCount++] = vertex;
+                }
+                distances[vertex] = distance;
+                parents[vertex] = parent;
+                heap.offer(vertex, priority);
+            }
+        }
+
+        void relax(int vertex, int target, Heuristic heuristic) {
+            double distance = distances[vertex];
+            for (int i = graph.firstNeighbor(vertex), end = graph.firstNeighbor(vertex + 1); i < end; i++) {
+                int neighbor = graph.neighborAt(i);
+                double candidate = distance + graph.weightAt(i);
+                if (candidate < distances[neighbor]) {
+                    double priority = heuristic == null ? candidate : candidate + heuristic.estimate(neighbor, target);
+                    reach(neighbor, candidate, vertex, priority);
+                }
+            }
+        }
+
+        /** Returns the ids from this search's source to {@code vertex}. */
+        int[] pathTo(int vertex) {
+            int length = 0;
+            for (int id = vertex; id != NONE; id = parents[id]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int id = vertex; id != NONE; id = parents[id]) {
+                path[--length] = id;
+            }
+            return path;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns vertices into bytes and back, for the vertex dictionary of a {@link MappedGraph} file.
+ * Equal vertices must encode to equal bytes.
+ *
+ * @param <T> The type of the vertices.
+ */
+public interface VertexCodec<T> {
+
+    /** Strings as UTF-8. */
+    VertexCodec<String> STRING = new VertexCodec<>() {
+        @Override
+        public byte[] encode(String vertex) {
+            return vertex.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /** Integers as 4 big-endian bytes. */
+    VertexCodec<Integer> INTEGER = new VertexCodec<>() {
+        @Override
+        public byte[] encode(Integer vertex) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt(vertex).array();
+        }
+
+        @Override
+        public Integer decode(byte[] bytes) {
+            return ByteBuffer.wrap(bytes).getInt();
+        }
+    };
+
+    /**
+     * @param vertex The vertex to encode.
+     * @return Its bytes.
+     */
+    byte[] encode(T vertex);
+
+    /**
+     * @param bytes Bytes produced by {@link #encode}.
+     * @return The vertex they encode.
+     */
+    T decode(byte[] bytes);
+}
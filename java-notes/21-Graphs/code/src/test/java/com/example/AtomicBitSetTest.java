@@ -0,0 +1,65 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AtomicBitSetTest {
+
+    @Test
+    public void testBitsAcrossWordBoundaries() {
+        AtomicBitSet bits = new AtomicBitSet(130);
+
+        for (int index : new int[] {0, 63, 64, 129}) {
+            assertFalse(bits.get(index));
+            assertTrue(bits.testAndSet(index));
+            assertTrue(bits.get(index));
+            assertFalse(bits.testAndSet(index));
+        }
+        assertFalse(bits.get(1));
+        assertFalse(bits.get(62));
+        assertFalse(bits.get(65));
+        assertFalse(bits.get(128));
+    }
+
+    @Test
+    public void testExactlyOneThreadSetsEachBit() throws Exception {
+        int size = 100_000;
+        int threads = 8;
+        AtomicBitSet bits = new AtomicBitSet(size);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    int won = 0;
+                    for (int index = 0; index < size; index++) {
+                        if (bits.testAndSet(index)) {
+                            won++;
+                        }
+                    }
+                    return won;
+                });
+            }
+            int total = 0;
+            for (Future<Integer> won : executor.invokeAll(tasks)) {
+                total += won.get();
+            }
+            assertEquals(size, total);
+        } finally {
+            executor.shutdown();
+        }
+        for (int index = 0; index < size; index++) {
+            assertTrue(bits.get(index));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentGraphTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int EDGES_PER_WRITER = 50_000;
+    private static final int VERTICES = 1_000;
+
+    @Test
+    public void testSnapshotsDoNotChangeAfterLaterAdds() {
+        ConcurrentGraph<String> graph = new ConcurrentGraph<>();
+        graph.addEdge("a", "b");
+
+        List<String> snapshot = graph.getNeighbors("a");
+        for (int i = 0; i < 10; i++) {
+            graph.addEdge("a", "c" + i);
+        }
+
+        assertEquals(List.of("b"), snapshot);
+        assertEquals(11, graph.getNeighbors("a").size());
+        assertEquals(List.of(), graph.getNeighbors("missing"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add("d"));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(1));
+        assertFalse(graph.isDirected());
+        graph.addDirectedEdge("x", "y");
+        assertTrue(graph.isDirected());
+        assertEquals(List.of(), graph.getNeighbors("y"));
+        assertEquals(23, graph.edgeCount());
+        assertEquals(14, graph.vertexCount());
+    }
+
+    @Test
+    public void testConcurrentAddsAndReads() throws Exception {
+        ConcurrentGraph<Integer> graph = new ConcurrentGraph<>();
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int e = 0; e < EDGES_PER_WRITER; e++) {
+                        int from = (writer * 7919 + e * 31) % VERTICES;
+                        int to = (writer * 104729 + e * 17) % VERTICES;
+                        if (e % 3 == 0) {
+                            graph.addDirectedEdge(from, to);
+                        } else {
+                            graph.addEdge(from, to);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < READERS; r++) {
+                int reader = r;
+                readers.add(executor.submit((Callable<Void>) () -> {
+                    start.await();
+                    int vertex = reader;
+                    while (writing.get()) {
+                        List<Integer> snapshot = graph.getNeighbors(vertex);
+                        int size = snapshot.size();
+                        // Every element within the snapshot's size has been published.
+                        for (int i = 0; i < size; i++) {
+                            assertNotNull(snapshot.get(i));
+                        }
+                        assertEquals(size, snapshot.size());
+                        vertex = (vertex + 1) % VERTICES;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Graph<Integer> expected = new Graph<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            for (int e = 0; e < EDGES_PER_WRITER; e++) {
+                int from = (writer * 7919 + e * 31) % VERTICES;
+                int to = (writer * 104729 + e * 17) % VERTICES;
+                if (e % 3 == 0) {
+                    expected.addDirectedEdge(from, to);
+                } else {
+                    expected.addEdge(from, to);
+                }
+            }
+        }
+        assertEquals(expected.getVertices(), graph.getVertices());
+        long entries = 0;
+        for (Integer vertex : expected.getVertices()) {
+            // Writers interleave, so only the multiset of neighbors is deterministic.
+            assertEquals(counts(expected.getNeighbors(vertex)), counts(graph.getNeighbors(vertex)), "neighbors of " + vertex);
+            entries += expected.getNeighbors(vertex).size();
+        }
+        assertEquals(entries, graph.edgeCount());
+        assertTrue(graph.isDirected());
+    }
+
+    private static Map<Integer, Integer> counts(List<Integer> neighbors) {
+        Map<Integer, Integer> counts = new HashMap<>();
+        for (Integer neighbor : neighbors) {
+            counts.merge(neighbor, 1, Integer::sum);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+}
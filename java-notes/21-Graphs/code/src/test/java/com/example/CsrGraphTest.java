@@ -0,0 +1,114 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CsrGraphTest {
+
+    @Test
+    public void testFreezeKeepsVertexAndNeighborOrder() {
+        Graph<String> graph = new Graph<>();
+        graph.addEdge("a", "b");
+        graph.addEdge("a", "c");
+        graph.addEdge("c", "b");
+        graph.addVertex("lonely");
+
+        CsrGraph<String> csr = graph.freeze();
+
+        assertEquals(4, csr.vertexCount());
+        assertEquals(6, csr.edgeCount());
+        assertFalse(csr.isDirected());
+        assertFalse(csr.isWeighted());
+        int id = 0;
+        for (String vertex : graph.getVertices()) {
+            assertEquals(id, csr.idOf(vertex));
+            assertEquals(vertex, csr.vertexOf(id));
+            assertEquals(graph.getNeighbors(vertex), verticesOf(csr, csr.getNeighbors(id)));
+            assertEquals(graph.getNeighbors(vertex).size(), csr.degree(id));
+            id++;
+        }
+        assertEquals(-1, csr.idOf("missing"));
+        assertEquals(0, csr.degree(csr.idOf("lonely")));
+    }
+
+    @Test
+    public void testNeighborWalkAndWeights() {
+        Graph<String> graph = new Graph<>();
+        graph.addEdge("a", "b");
+        graph.addEdge("a", "c", 2.5);
+
+        CsrGraph<String> csr = graph.freeze();
+
+        assertTrue(csr.isWeighted());
+        int a = csr.idOf("a");
+        List<String> neighbors = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (int i = csr.firstNeighbor(a); i < csr.firstNeighbor(a + 1); i++) {
+            neighbors.add(csr.vertexOf(csr.neighborAt(i)));
+            weights.add(csr.weightAt(i));
+        }
+        assertEquals(List.of("b", "c"), neighbors);
+        assertEquals(List.of(1.0, 2.5), weights);
+    }
+
+    @Test
+    public void testUndirectedGraphIsItsOwnTranspose() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addEdge(1, 2);
+
+        CsrGraph<Integer> csr = graph.freeze();
+
+        assertSame(csr, csr.transpose());
+    }
+
+    @Test
+    public void testTransposeReversesDirectedEdges() {
+        Graph<String> graph = new Graph<>();
+        graph.addDirectedEdge("a", "b", 3);
+        graph.addDirectedEdge("a", "c");
+        graph.addDirectedEdge("c", "b");
+
+        CsrGraph<String> csr = graph.freeze();
+        CsrGraph<String> transpose = csr.transpose();
+
+        assertTrue(transpose.isDirected());
+        assertSame(transpose, csr.transpose());
+        assertSame(csr, transpose.transpose());
+        assertEquals(List.of(), verticesOf(transpose, transpose.getNeighbors(csr.idOf("a"))));
+        assertEquals(List.of("a"), verticesOf(transpose, transpose.getNeighbors(csr.idOf("c"))));
+        int b = csr.idOf("b");
+        List<String> intoB = verticesOf(transpose, transpose.getNeighbors(b));
+        assertEquals(2, intoB.size());
+        assertTrue(intoB.containsAll(List.of("a", "c")));
+        int fromA = transpose.firstNeighbor(b) + intoB.indexOf("a");
+        assertEquals(3.0, transpose.weightAt(fromA));
+    }
+
+    @Test
+    public void testGetNeighborsReturnsACopy() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addEdge(1, 2);
+        CsrGraph<Integer> csr = graph.freeze();
+
+        int[] neighbors = csr.getNeighbors(csr.idOf(1));
+        neighbors[0] = 99;
+
+        assertArrayEquals(new int[] {csr.idOf(2)}, csr.getNeighbors(csr.idOf(1)));
+    }
+
+    private static <T> List<T> verticesOf(CsrGraph<T> graph, int[] ids) {
+        List<T> vertices = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            vertices.add(graph.vertexOf(id));
+        }
+        return vertices;
+    }
+}
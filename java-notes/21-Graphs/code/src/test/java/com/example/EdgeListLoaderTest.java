@@ -0,0 +1,225 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EdgeListLoaderTest {
+
+    private static final String[] SEPARATORS = {",", "\t", " ", ";", ", ", " \t"};
+    private static final String[] WEIGHTS = {"", "", "0.75", "12", "3.", "1e-3", "-2.5", "0.1234567890123456789"};
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 7, 64, 1 << 20})
+    public void testAnyChunkSizeGivesTheSameGraphAsLineByLine(int chunkSize) throws IOException {
+        String text = randomEdgeList(3000);
+        Path file = Files.writeString(dir.resolve("edges.txt"), text);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (boolean directed : new boolean[] {false, true}) {
+                Graph<Long> expected = parseLineByLine(text, directed);
+                EdgeListLoader loader = new EdgeListLoader(pool).directed(directed).chunkSize(chunkSize);
+
+                assertSameGraph(expected, loader.loadCsr(file));
+                Graph<Long> graph = loader.loadGraph(file);
+                for (Long vertex : expected.getVertices()) {
+                    assertEquals(expected.getNeighbors(vertex), graph.getNeighbors(vertex));
+                    assertEquals(expected.getEdgeWeights(vertex), graph.getEdgeWeights(vertex));
+                }
+                assertEquals(expected.getVertices(), graph.getVertices());
+                assertEquals(directed, graph.isDirected());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testCommentsHeadersAndCrlf() throws IOException {
+        Path file = Files.writeString(dir.resolve("edges.csv"),
+                "# a comment\r\nsource,target,weight\r\n1,2\r\n\r\n  2;3;0.5\r\n% another comment\r\n3\t1\t2");
+
+        CsrGraph<Long> graph = new EdgeListLoader().chunkSize(5).loadCsr(file);
+
+        assertEquals(List.of(1L, 2L, 3L), vertices(graph));
+        assertFalse(graph.isDirected());
+        assertTrue(graph.isWeighted());
+        assertEquals(6, graph.edgeCount());
+        int two = graph.idOf(2L);
+        assertEquals(List.of(1L, 3L), neighbors(graph, two));
+        assertEquals(1.0, graph.weightAt(graph.firstNeighbor(two)));
+        assertEquals(0.5, graph.weightAt(graph.firstNeighbor(two) + 1));
+    }
+
+    @Test
+    public void testIdsUpToLongMaxValue() throws IOException {
+        Path file = Files.writeString(dir.resolve("edges.txt"),
+                "9223372036854775807 -9223372036854775807\n1000000000000000000,-1\n");
+
+        CsrGraph<Long> graph = new EdgeListLoader().directed(true).loadCsr(file);
+
+        assertEquals(List.of(-Long.MAX_VALUE, -1L, 1_000_000_000_000_000_000L, Long.MAX_VALUE), vertices(graph));
+        assertEquals(List.of(-Long.MAX_VALUE), neighbors(graph, graph.idOf(Long.MAX_VALUE)));
+        assertFalse(graph.isWeighted());
+    }
+
+    @Test
+    public void testMalformedLinesAreReportedAsIOExceptions() throws IOException {
+        for (String line : new String[] {"9223372036854775808,1", "-9223372036854775808,1", "1,x", "1,2,abc", "1,2 3 4", "-,2"}) {
+            Path file = Files.writeString(dir.resolve("bad.txt"), "1,2\n3,4\n" + line + "\n5,6\n");
+            EdgeListLoader loader = new EdgeListLoader().chunkSize(3);
+
+            IOException e = assertThrows(IOException.class, () -> loader.loadCsr(file), line);
+            assertTrue(e.getMessage().startsWith("Malformed edge at byte "), e.getMessage());
+            long at = Long.parseLong(e.getMessage().substring("Malformed edge at byte ".length()));
+            assertTrue(at >= 8 && at <= 8 + line.length(), line + ": " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testAdjacencyEntriesBeyondIntOffsetsAreRejected() throws IOException {
+        int[] offsets = {0, 2, 0, 3};
+        EdgeListLoader.toOffsets(offsets);
+        assertArrayEquals(new int[] {0, 2, 2, 5}, offsets);
+
+        // Over a billion undirected edges: two entries each, more than int offsets can hold.
+        int[] tooMany = {0, 1_100_000_000, 1_100_000_000};
+        IOException e = assertThrows(IOException.class, () -> EdgeListLoader.toOffsets(tooMany));
+        assertTrue(e.getMessage().startsWith("Too many adjacency entries"), e.getMessage());
+        assertThrows(IOException.class, () -> EdgeListLoader.toOffsets(new int[] {0, Integer.MIN_VALUE}));
+    }
+
+    @Test
+    public void testProgressCoversTheWholeFile() throws IOException {
+        String text = randomEdgeList(500);
+        Path file = Files.writeString(dir.resolve("edges.txt"), text);
+        long[] last = new long[3];
+        int[] calls = new int[1];
+
+        new EdgeListLoader().chunkSize(256).onProgress((bytesParsed, totalBytes, edgesParsed) -> {
+            assertTrue(bytesParsed >= last[0] && edgesParsed >= last[2]);
+            last[0] = bytesParsed;
+            last[1] = totalBytes;
+            last[2] = edgesParsed;
+            calls[0]++;
+        }).loadCsr(file);
+
+        assertTrue(calls[0] > 1);
+        assertEquals(Files.size(file), last[0]);
+        assertEquals(Files.size(file), last[1]);
+        assertEquals(500, last[2]);
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        Path file = Files.writeString(dir.resolve("empty.txt"), "");
+
+        CsrGraph<Long> graph = new EdgeListLoader().loadCsr(file);
+
+        assertEquals(0, graph.vertexCount());
+        assertEquals(0, graph.edgeCount());
+    }
+
+    /** Random edges with every separator, optional weights, CRLF endings, comments and blank lines. */
+    private static String randomEdgeList(int edges) {
+        Random random = new Random(24);
+        StringBuilder text = new StringBuilder("source,target,weight\n");
+        for (int e = 0; e < edges; e++) {
+            if (random.nextInt(20) == 0) {
+                text.append("# comment ").append(e).append('\n');
+            }
+            if (random.nextInt(30) == 0) {
+                text.append(random.nextBoolean() ? "\n" : "  \r\n");
+            }
+            String separator = SEPARATORS[random.nextInt(SEPARATORS.length)];
+            text.append(random.nextInt(400) - 50).append(separator).append(random.nextInt(400) - 50);
+            String weight = WEIGHTS[random.nextInt(WEIGHTS.length)];
+            if (!weight.isEmpty()) {
+                text.append(separator).append(weight);
+            }
+            text.append(random.nextBoolean() ? "\r\n" : "\n");
+        }
+        return text.toString();
+    }
+
+    /** The reference: split each line and add its edge, with vertices added in ascending order. */
+    private static Graph<Long> parseLineByLine(String text, boolean directed) {
+        List<long[]> ends = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        TreeSet<Long> vertices = new TreeSet<>();
+        for (String line : text.split("\n")) {
+            line = line.strip();
+            if (line.isEmpty() || !(line.charAt(0) == '-' || Character.isDigit(line.charAt(0)))) {
+                continue;
+            }
+            String[] fields = line.split("[,\t ;]+");
+            long from = Long.parseLong(fields[0]);
+            long to = Long.parseLong(fields[1]);
+            ends.add(new long[] {from, to});
+            weights.add(fields.length > 2 ? Double.parseDouble(fields[2]) : 1.0);
+            vertices.add(from);
+            vertices.add(to);
+        }
+        Graph<Long> graph = new Graph<>();
+        for (Long vertex : vertices) {
+            graph.addVertex(vertex);
+        }
+        for (int e = 0; e < ends.size(); e++) {
+            if (directed) {
+                graph.addDirectedEdge(ends.get(e)[0], ends.get(e)[1], weights.get(e));
+            } else {
+                graph.addEdge(ends.get(e)[0], ends.get(e)[1], weights.get(e));
+            }
+        }
+        return graph;
+    }
+
+    private static void assertSameGraph(Graph<Long> expected, CsrGraph<Long> actual) {
+        assertEquals(new ArrayList<>(new TreeSet<>(expected.getVertices())), vertices(actual));
+        assertEquals(expected.isDirected(), actual.isDirected());
+        for (Long vertex : expected.getVertices()) {
+            int id = actual.idOf(vertex);
+            assertEquals(expected.getNeighbors(vertex), neighbors(actual, id), "neighbors of " + vertex);
+            List<Double> weights = new ArrayList<>();
+            for (int i = actual.firstNeighbor(id); i < actual.firstNeighbor(id + 1); i++) {
+                weights.add(actual.weightAt(i));
+            }
+            assertEquals(expected.getEdgeWeights(vertex), weights, "weights of " + vertex);
+        }
+    }
+
+    private static List<Long> vertices(CsrGraph<Long> graph) {
+        List<Long> vertices = new ArrayList<>();
+        for (int id = 0; id < graph.vertexCount(); id++) {
+            vertices.add(graph.vertexOf(id));
+        }
+        return vertices;
+    }
+
+    private static List<Long> neighbors(CsrGraph<Long> graph, int id) {
+        List<Long> neighbors = new ArrayList<>();
+        for (int neighbor : graph.getNeighbors(id)) {
+            neighbors.add(graph.vertexOf(neighbor));
+        }
+        return neighbors;
+    }
+}
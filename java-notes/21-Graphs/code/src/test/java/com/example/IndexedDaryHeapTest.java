@@ -0,0 +1,80 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IndexedDaryHeapTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 3, 4, 8})
+    public void testPollsInKeyOrderWithDecreaseKey(int arity) {
+        int capacity = 2000;
+        IndexedDaryHeap heap = new IndexedDaryHeap(capacity, arity);
+        double[] keys = new double[capacity];
+        // The reference orders by key, then id, so equal keys cannot hide a wrong poll.
+        TreeSet<Integer> expected = new TreeSet<>((a, b) -> a.equals(b) ? 0
+                : keys[a] != keys[b] ? Double.compare(keys[a], keys[b]) : Integer.compare(a, b));
+        Random random = new Random(arity);
+
+        for (int round = 0; round < 20_000; round++) {
+            int id = random.nextInt(capacity);
+            double key = random.nextInt(1000);
+            if (!expected.contains(id)) {
+                keys[id] = key;
+                expected.add(id);
+                heap.offer(id, key);
+            } else if (key < keys[id]) {
+                expected.remove(id);
+                keys[id] = key;
+                expected.add(id);
+                heap.offer(id, key);
+            } else {
+                // A higher key is ignored.
+                heap.offer(id, key);
+            }
+            assertEquals(expected.size(), heap.size());
+            if (random.nextInt(3) == 0) {
+                assertEquals(keys[expected.first()], heap.peekKey());
+                int polled = heap.poll();
+                assertEquals(keys[expected.first()], keys[polled]);
+                assertTrue(expected.remove(polled));
+            }
+        }
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            int polled = heap.poll();
+            assertTrue(keys[polled] >= last);
+            last = keys[polled];
+            assertTrue(expected.remove(polled));
+        }
+        assertTrue(expected.isEmpty());
+    }
+
+    @Test
+    public void testClearForgetsQueuedIds() {
+        IndexedDaryHeap heap = new IndexedDaryHeap(10, 4);
+        heap.offer(3, 5);
+        heap.offer(7, 1);
+
+        heap.clear();
+        heap.offer(3, 9);
+
+        assertEquals(1, heap.size());
+        assertEquals(9, heap.peekKey());
+        assertEquals(3, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void testRejectsArityBelowTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new IndexedDaryHeap(10, 1));
+    }
+}
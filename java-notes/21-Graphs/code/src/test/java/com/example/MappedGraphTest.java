@@ -0,0 +1,112 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedGraphTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testWeightedDirectedRoundTrip() throws IOException {
+        Graph<String> graph = new Graph<>();
+        graph.addDirectedEdge("Harbor", "Market", 4.5);
+        graph.addEdge("Market", "Station", 5);
+        graph.addEdge("Bridge", "Station");
+        graph.addVertex("Ünïcode");
+        CsrGraph<String> csr = graph.freeze();
+        Path file = dir.resolve("roads.graph");
+
+        MappedGraph.write(csr, file, VertexCodec.STRING);
+        MappedGraph<String> mapped = MappedGraph.open(file, VertexCodec.STRING);
+
+        assertSameGraph(csr, mapped);
+        assertTrue(mapped.isWeighted());
+        assertTrue(mapped.isDirected());
+        for (String vertex : graph.getVertices()) {
+            assertEquals(csr.idOf(vertex), mapped.idOf(vertex));
+        }
+        assertEquals(-1, mapped.idOf("Airport"));
+        assertEquals(-1, mapped.idOf(""));
+    }
+
+    @Test
+    public void testUnweightedRoundTripWithManyVertices() throws IOException {
+        Random random = new Random(23);
+        Graph<Integer> graph = new Graph<>();
+        for (int e = 0; e < 20_000; e++) {
+            graph.addEdge(random.nextInt(5_000), random.nextInt(5_000));
+        }
+        CsrGraph<Integer> csr = graph.freeze();
+        Path file = dir.resolve("random.graph");
+
+        MappedGraph.write(graph, file, VertexCodec.INTEGER);
+        MappedGraph<Integer> mapped = MappedGraph.open(file, VertexCodec.INTEGER);
+
+        assertSameGraph(csr, mapped);
+        assertFalse(mapped.isWeighted());
+        assertFalse(mapped.isDirected());
+        for (int id = 0; id < csr.vertexCount(); id++) {
+            assertEquals(id, mapped.idOf(csr.vertexOf(id)));
+        }
+        // Misses probe until an empty slot, including for values whose hash collides with hits.
+        for (int missing = 5_000; missing < 15_000; missing++) {
+            assertEquals(-1, mapped.idOf(missing));
+        }
+        assertEquals(-1, mapped.idOf(-1));
+    }
+
+    @Test
+    public void testEmptyGraph() throws IOException {
+        Path file = dir.resolve("empty.graph");
+
+        MappedGraph.write(new Graph<String>(), file, VertexCodec.STRING);
+        MappedGraph<String> mapped = MappedGraph.open(file, VertexCodec.STRING);
+
+        assertEquals(0, mapped.vertexCount());
+        assertEquals(0, mapped.edgeCount());
+        assertEquals(-1, mapped.idOf("anything"));
+    }
+
+    @Test
+    public void testRejectsFilesThatAreNotGraphs() throws IOException {
+        Path text = Files.writeString(dir.resolve("edges.csv"), "1,2\n");
+        assertThrows(IOException.class, () -> MappedGraph.open(text, VertexCodec.STRING));
+
+        Graph<String> graph = new Graph<>();
+        graph.addEdge("a", "b");
+        Path file = dir.resolve("truncated.graph");
+        MappedGraph.write(graph, file, VertexCodec.STRING);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        IOException truncated = assertThrows(IOException.class, () -> MappedGraph.open(file, VertexCodec.STRING));
+        assertTrue(truncated.getMessage().contains("truncated"), truncated.getMessage());
+    }
+
+    private static <T> void assertSameGraph(CsrGraph<T> expected, MappedGraph<T> actual) {
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        for (int id = 0; id < expected.vertexCount(); id++) {
+            assertEquals(expected.vertexOf(id), actual.vertexOf(id));
+            assertEquals(expected.degree(id), actual.degree(id));
+            assertEquals(expected.firstNeighbor(id), actual.firstNeighbor(id));
+        }
+        assertEquals(expected.firstNeighbor(expected.vertexCount()), actual.firstNeighbor(expected.vertexCount()));
+        for (int i = 0; i < expected.edgeCount(); i++) {
+            assertEquals(expected.neighborAt(i), actual.neighborAt(i));
+            assertEquals(expected.weightAt(i), actual.weightAt(i));
+        }
+    }
+}
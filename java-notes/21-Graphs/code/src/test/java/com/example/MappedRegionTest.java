@@ -0,0 +1,84 @@
+package com.example;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MappedRegionTest {
+
+    private static final long GB = 1L << 30;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testReadsFromASingleChunk() throws IOException {
+        Path file = dir.resolve("small.bin");
+        try (FileChannel channel = open(file)) {
+            ByteBuffer buffer = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putLong(-1).putInt(42).putInt(7).putDouble(2.5).put(new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            channel.write(buffer.flip());
+
+            MappedRegion region = new MappedRegion(channel, 8, 24);
+
+            assertEquals(42, region.getInt(0));
+            assertEquals(7, region.getInt(4));
+            assertEquals(2.5, region.getDouble(8));
+            assertEquals(0x0807060504030201L, region.getLong(16));
+            byte[] bytes = new byte[3];
+            region.get(17, bytes);
+            assertArrayEquals(new byte[] {2, 3, 4}, bytes);
+        }
+    }
+
+    /**
+     * A region over 1 GB spans two mappings. The file is sparse, so only the written pages exist,
+     * but a filesystem without sparse files would write the whole gigabyte.
+     */
+    @Tag("large-file")
+    @Test
+    public void testReadsAcrossChunks() throws IOException {
+        Path file = dir.resolve("large.bin");
+        try (FileChannel channel = open(file)) {
+            long start = 8;
+            writeAt(channel, start + GB - 8, ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+                    .putLong(11).putLong(22));
+            writeAt(channel, start + GB + 8, ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN)
+                    .putInt(33).putInt(0).putDouble(4.25));
+
+            MappedRegion region = new MappedRegion(channel, start, GB + 24);
+
+            assertEquals(11, region.getLong(GB - 8));
+            assertEquals(22, region.getLong(GB));
+            assertEquals(33, region.getInt(GB + 8));
+            assertEquals(4.25, region.getDouble(GB + 16));
+            assertEquals(0, region.getLong(0));
+            // A byte copy may straddle the two mappings.
+            byte[] bytes = new byte[12];
+            region.get(GB - 4, bytes);
+            assertArrayEquals(new byte[] {0, 0, 0, 0, 22, 0, 0, 0, 0, 0, 0, 0}, bytes);
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+    }
+
+    private static void writeAt(FileChannel channel, long position, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelBfsTest {
+
+    private static final int VERTICES = 20_000;
+    private static final int EDGES = 100_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8})
+    public void testUndirectedMatchesSerialBfs(int parallelism) {
+        assertMatchesSerialBfs(randomGraph(false), parallelism);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 4, 8})
+    public void testDirectedMatchesSerialBfs(int parallelism) {
+        assertMatchesSerialBfs(randomGraph(true), parallelism);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    public void testPathGraphStaysTopDown(int parallelism) {
+        Graph<Integer> graph = new Graph<>();
+        for (int v = 0; v < 1000; v++) {
+            graph.addEdge(v, v + 1);
+        }
+        assertMatchesSerialBfs(graph.freeze(), parallelism);
+    }
+
+    private static void assertMatchesSerialBfs(CsrGraph<Integer> graph, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ParallelBfs bfs = new ParallelBfs(pool);
+            for (int source : new int[] {0, graph.vertexCount() / 2, graph.vertexCount() - 1}) {
+                int[] expected = serialDistances(graph, source);
+                ParallelBfs.Result result = bfs.search(graph, source);
+
+                assertArrayEquals(expected, result.getDistances());
+                assertEquals(source, result.parentOf(source));
+                for (int v = 0; v < graph.vertexCount(); v++) {
+                    int parent = result.parentOf(v);
+                    if (expected[v] == ParallelBfs.UNREACHED) {
+                        assertEquals(ParallelBfs.UNREACHED, parent);
+                    } else if (v != source) {
+                        // Any parent one level up with an edge to v is a valid answer.
+                        assertEquals(expected[v] - 1, expected[parent]);
+                        int vertex = v;
+                        assertTrue(Arrays.stream(graph.getNeighbors(parent)).anyMatch(n -> n == vertex),
+                                () -> "no edge " + parent + " -> " + vertex);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int[] serialDistances(CsrGraph<?> graph, int source) {
+        int[] distances = new int[graph.vertexCount()];
+        Arrays.fill(distances, ParallelBfs.UNREACHED);
+        distances[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int vertex = queue.poll();
+            for (int neighbor : graph.getNeighbors(vertex)) {
+                if (distances[neighbor] == ParallelBfs.UNREACHED) {
+                    distances[neighbor] = distances[vertex] + 1;
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * A sparse random graph, dense enough that the search goes bottom-up on its middle levels,
+     * plus a few vertices no edge reaches.
+     */
+    private static CsrGraph<Integer> randomGraph(boolean directed) {
+        Random random = new Random(21);
+        Graph<Integer> graph = new Graph<>();
+        for (int v = 0; v < VERTICES; v++) {
+            graph.addVertex(v);
+        }
+        for (int e = 0; e < EDGES; e++) {
+            int from = random.nextInt(VERTICES - 10);
+            int to = random.nextInt(VERTICES - 10);
+            if (directed) {
+                graph.addDirectedEdge(from, to);
+            } else {
+                graph.addEdge(from, to);
+            }
+        }
+        return graph.freeze();
+    }
+}
@@ -0,0 +1,199 @@
+package com.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShortestPathsTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testDistancesFromMatchesQuadraticDijkstra() {
+        CsrGraph<Integer> graph = randomGraph(300, 1500, true);
+        ShortestPaths<Integer> paths = new ShortestPaths<>(graph);
+
+        for (int source : new int[] {0, 17, 299}) {
+            assertArrayEquals(quadraticDijkstra(graph, source), paths.distancesFrom(source), DELTA);
+        }
+    }
+
+    @Test
+    public void testPointToPointSearchesAgreeWithDistancesFrom() {
+        for (boolean directed : new boolean[] {false, true}) {
+            CsrGraph<Integer> graph = randomGraph(500, 2000, directed);
+            ShortestPaths<Integer> paths = new ShortestPaths<>(graph);
+            Random random = new Random(5);
+            for (int query = 0; query < 50; query++) {
+                int source = random.nextInt(graph.vertexCount());
+                int target = random.nextInt(graph.vertexCount());
+                double expected = paths.distancesFrom(source)[target];
+
+                assertPath(graph, source, target, expected, paths.dijkstraById(source, target));
+                assertPath(graph, source, target, expected, paths.aStarById(source, target, null));
+                assertPath(graph, source, target, expected, paths.bidirectionalById(source, target));
+            }
+        }
+    }
+
+    @Test
+    public void testAStarOnAGridSettlesFewerVertices() {
+        int side = 60;
+        Graph<Integer> grid = new Graph<>();
+        Random random = new Random(22);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                if (x + 1 < side) {
+                    grid.addEdge(y * side + x, y * side + x + 1, 1 + random.nextDouble());
+                }
+                if (y + 1 < side) {
+                    grid.addEdge(y * side + x, (y + 1) * side + x, 1 + random.nextDouble());
+                }
+            }
+        }
+        ShortestPaths<Integer> paths = ShortestPaths.of(grid);
+        Integer source = 0;
+        Integer target = side * side - 1;
+
+        ShortestPaths.Path<Integer> dijkstra = paths.dijkstra(source, target).orElseThrow();
+        ShortestPaths.Path<Integer> aStar = paths.aStar(source, target,
+                (vertex, goal) -> Math.abs(vertex % side - goal % side) + Math.abs(vertex / side - goal / side))
+                .orElseThrow();
+
+        assertEquals(dijkstra.getDistance(), aStar.getDistance(), DELTA);
+        assertTrue(aStar.getSettledCount() < dijkstra.getSettledCount(),
+                aStar.getSettledCount() + " >= " + dijkstra.getSettledCount());
+        assertEquals(source, aStar.getVertices().get(0));
+        assertEquals(target, aStar.getVertices().get(aStar.getVertices().size() - 1));
+    }
+
+    @Test
+    public void testVertexOverloadsOnARoadMap() {
+        Graph<String> roads = new Graph<>();
+        roads.addEdge("Harbor", "Market", 4);
+        roads.addEdge("Market", "Station", 5.5);
+        roads.addDirectedEdge("Station", "Bridge", 1);
+        roads.addEdge("Bridge", "Market", 2);
+        roads.addVertex("Island");
+        ShortestPaths<String> paths = ShortestPaths.of(roads);
+
+        ShortestPaths.Path<String> there = paths.dijkstra("Harbor", "Station").orElseThrow();
+        assertEquals(List.of("Harbor", "Market", "Station"), there.getVertices());
+        assertEquals(9.5, there.getDistance(), DELTA);
+
+        // The one-way street makes the way back shorter.
+        ShortestPaths.Path<String> back = paths.bidirectional("Station", "Harbor").orElseThrow();
+        assertEquals(List.of("Station", "Bridge", "Market", "Harbor"), back.getVertices());
+        assertEquals(7, back.getDistance(), DELTA);
+
+        assertEquals(List.of("Market"), paths.dijkstra("Market", "Market").orElseThrow().getVertices());
+        assertEquals(0, paths.bidirectional("Market", "Market").orElseThrow().getDistance(), DELTA);
+        assertFalse(paths.dijkstra("Harbor", "Island").isPresent());
+        assertFalse(paths.bidirectional("Island", "Harbor").isPresent());
+        assertFalse(paths.aStar("Harbor", "Island", (vertex, goal) -> 0).isPresent());
+    }
+
+    @Test
+    public void testUnknownVerticesAreRejected() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addEdge(10, 20);
+        ShortestPaths<Integer> paths = ShortestPaths.of(graph);
+
+        // On a Graph<Integer>, 0 is a vertex that does not exist, not the id 0.
+        assertThrows(IllegalArgumentException.class, () -> paths.dijkstra(0, 20));
+        assertThrows(IllegalArgumentException.class, () -> paths.aStar(10, 30, (vertex, goal) -> 0));
+        assertThrows(IllegalArgumentException.class, () -> paths.bidirectional(10, 0));
+        assertEquals(1, paths.dijkstra(10, 20).orElseThrow().getDistance(), DELTA);
+    }
+
+    @Test
+    public void testNegativeWeightsAreRejected() {
+        Graph<String> graph = new Graph<>();
+        graph.addDirectedEdge("a", "b", -1);
+
+        assertThrows(IllegalArgumentException.class, () -> ShortestPaths.of(graph));
+    }
+
+    private static void assertPath(CsrGraph<Integer> graph, int source, int target, double expected,
+                                   Optional<ShortestPaths.Path<Integer>> found) {
+        if (expected == Double.POSITIVE_INFINITY) {
+            assertFalse(found.isPresent());
+            return;
+        }
+        ShortestPaths.Path<Integer> path = found.orElseThrow();
+        assertEquals(expected, path.getDistance(), DELTA);
+        int[] ids = path.getIds();
+        assertEquals(source, ids[0]);
+        assertEquals(target, ids[ids.length - 1]);
+        double length = 0;
+        for (int i = 0; i + 1 < ids.length; i++) {
+            length += cheapestEdge(graph, ids[i], ids[i + 1]);
+        }
+        assertEquals(expected, length, DELTA);
+    }
+
+    private static double cheapestEdge(CsrGraph<?> graph, int from, int to) {
+        double cheapest = Double.POSITIVE_INFINITY;
+        for (int i = graph.firstNeighbor(from); i < graph.firstNeighbor(from + 1); i++) {
+            if (graph.neighborAt(i) == to) {
+                cheapest = Math.min(cheapest, graph.weightAt(i));
+            }
+        }
+        assertTrue(cheapest < Double.POSITIVE_INFINITY, "no edge " + from + " -> " + to);
+        return cheapest;
+    }
+
+    /** The textbook O(V^2) Dijkstra, without a heap. */
+    private static double[] quadraticDijkstra(CsrGraph<?> graph, int source) {
+        double[] distances = new double[graph.vertexCount()];
+        boolean[] settled = new boolean[graph.vertexCount()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+        while (true) {
+            int vertex = -1;
+            for (int v = 0; v < graph.vertexCount(); v++) {
+                if (!settled[v] && distances[v] < Double.POSITIVE_INFINITY
+                        && (vertex == -1 || distances[v] < distances[vertex])) {
+                    vertex = v;
+                }
+            }
+            if (vertex == -1) {
+                return distances;
+            }
+            settled[vertex] = true;
+            for (int i = graph.firstNeighbor(vertex); i < graph.firstNeighbor(vertex + 1); i++) {
+                int neighbor = graph.neighborAt(i);
+                distances[neighbor] = Math.min(distances[neighbor], distances[vertex] + graph.weightAt(i));
+            }
+        }
+    }
+
+    /** A sparse random graph with weights between 0 and 10, some vertices unreachable. */
+    private static CsrGraph<Integer> randomGraph(int vertices, int edges, boolean directed) {
+        Random random = new Random(vertices + edges);
+        Graph<Integer> graph = new Graph<>();
+        for (int v = 0; v < vertices; v++) {
+            graph.addVertex(v);
+        }
+        for (int e = 0; e < edges; e++) {
+            int from = random.nextInt(vertices - 5);
+            int to = random.nextInt(vertices - 5);
+            double weight = Math.floor(random.nextDouble() * 100) / 10;
+            if (directed) {
+                graph.addDirectedEdge(from, to, weight);
+            } else {
+                graph.addEdge(from, to, weight);
+            }
+        }
+        return graph.freeze();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.reactive;
+
+import com.example.demo.common.ETags;
+import com.example.demo.common.TaskFilter;
+import com.example.demo.common.TaskPatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the servlet {@code TaskController}: same paths, parameters,
+ * status codes and headers, but every handler returns a {@link Mono} or {@link Flux} and
+ * runs on the event loop.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskController {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<Task>>> getAllTasks(@RequestParam(value = "completed", required = false) Boolean completed,
+                                                        @RequestParam(value = "titlePrefix", required = false) String titlePrefix,
+                                                        @RequestParam(value = "sort", defaultValue = "id") String sortBy,
+                                                        @RequestParam(value = "after", required = false) Long afterId,
+                                                        @RequestParam(value = "afterTitle", required = false) String afterTitle,
+                                                        @RequestParam(value = "limit", defaultValue = "100") int limit,
+                                                        ServerHttpRequest request) {
+        TaskFilter.SortBy sort = TaskFilter.SortBy.parse(sortBy);
+        if (sort == null) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TaskFilter filter = new TaskFilter(completed, titlePrefix, sort, afterId, afterTitle);
+
+        return taskService.findTasks(filter, pageSize).collectList().map(tasks -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (tasks.size() == pageSize) {
+                Task last = tasks.get(tasks.size() - 1);
+                UriComponentsBuilder next = UriComponentsBuilder.fromUri(request.getURI());
+                next.replaceQueryParam("after", last.getId());
+                next.replaceQueryParam("afterTitle");
+                if (sort == TaskFilter.SortBy.TITLE && last.getTitle() != null) {
+                    next.replaceQueryParam("afterTitle", UriUtils.encodeQueryParam(last.getTitle(), StandardCharsets.UTF_8));
+                }
+                next.replaceQueryParam("limit", pageSize);
+                // The other parameters arrive already encoded in the request URI; encoding again would turn % into %25.
+                response.header(HttpHeaders.LINK, "<" + next.build(true).toUriString() + ">; rel=\"next\"");
+            }
+            return response.body(tasks);
+        });
+    }
+
+    // WebFlux writes and flushes one line per task, requesting more rows only as the client keeps up.
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> streamAllTasks() {
+        return taskService.streamAllTasks();
+    }
+
+    // WebFlux answers a matching If-None-Match with 304 from the ETag alone, without writing the body.
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable(value = "id") Long taskId) {
+        return taskService.findTaskById(taskId)
+                .map(task -> ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(task))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<Task> createTask(@RequestBody Task task) {
+        return taskService.createTask(task);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Task>> updateTask(@PathVariable(value = "id") Long taskId,
+                                                 @RequestBody Task taskDetails,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskService.updateTask(taskId, taskDetails, ETags.versionsOf(ifMatch))
+                .map(updatedTask -> ResponseEntity.ok().eTag(ETags.of(updatedTask.getVersion())).body(updatedTask))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(OptimisticLockingFailureException.class,
+                        e -> Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build()));
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Void>> patchTask(@PathVariable(value = "id") Long taskId,
+                                                @RequestBody TaskPatch patch) {
+        if (patch.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return taskService.patchTask(taskId, patch)
+                .map(updated -> updated
+                        ? ResponseEntity.noContent().<Void>build()
+                        : ResponseEntity.notFound().<Void>build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable(value = "id") Long taskId) {
+        return taskService.deleteTask(taskId).then(Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+}
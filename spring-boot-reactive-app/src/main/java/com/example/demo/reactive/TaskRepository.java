@@ -0,0 +1,14 @@
+package com.example.demo.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface TaskRepository extends R2dbcRepository<Task, Long> {
+
+    // Rows are emitted as the database produces them and only as fast as the client reads.
+    @Query("SELECT * FROM task ORDER BY id")
+    Flux<Task> streamAllOrderedById();
+}
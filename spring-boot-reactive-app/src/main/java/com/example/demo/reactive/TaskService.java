@@ -0,0 +1,147 @@
+package com.example.demo.reactive;
+
+import com.example.demo.common.TaskFilter;
+import com.example.demo.common.TaskPatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+@Service
+public class TaskService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private R2dbcEntityTemplate template;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Returns up to {@code limit} tasks matching {@code filter}, seeking past its cursor
+     * instead of using an OFFSET.
+     */
+    public Flux<Task> findTasks(TaskFilter filter, int limit) {
+        Query query = Query.query(criteriaOf(filter)).sort(sortOf(filter)).limit(limit);
+        return template.select(Task.class).matching(query).all();
+    }
+
+    public Flux<Task> streamAllTasks() {
+        return taskRepository.streamAllOrderedById();
+    }
+
+    public Mono<Task> findTaskById(Long id) {
+        return taskRepository.findById(id);
+    }
+
+    public Mono<Task> createTask(Task task) {
+        // Ids and versions are assigned here, never taken from the client.
+        task.setId(null);
+        task.setVersion(null);
+        return taskRepository.save(task);
+    }
+
+    /**
+     * Updates the task if it exists and, unless {@code expectedVersions} is {@code null}, still
+     * has one of those versions. Completes empty if there is no such task.
+     *
+     * @return a {@link OptimisticLockingFailureException} error if the task was changed in the meantime.
+     */
+    public Mono<Task> updateTask(Long id, Task taskDetails, Set<Long> expectedVersions) {
+        return taskRepository.findById(id).flatMap(task -> {
+            if (expectedVersions != null && !expectedVersions.contains(task.getVersion())) {
+                return Mono.error(new OptimisticLockingFailureException("Task " + id + " is at version "
+                        + task.getVersion() + ", not one of " + expectedVersions));
+            }
+            task.setTitle(taskDetails.getTitle());
+            task.setDescription(taskDetails.getDescription());
+            task.setCompleted(taskDetails.isCompleted());
+            // The UPDATE is conditional on the version read above, so a racing writer fails here too.
+            return taskRepository.save(task);
+        });
+    }
+
+    /**
+     * Applies the non-null fields of {@code patch} with a single {@code UPDATE ... WHERE id = ?}.
+     *
+     * @return {@code false} if there is no task with that id.
+     */
+    public Mono<Boolean> patchTask(Long id, TaskPatch patch) {
+        StringBuilder sql = new StringBuilder("UPDATE task SET version = version + 1");
+        if (patch.getTitle() != null) {
+            sql.append(", title = :title");
+        }
+        if (patch.getDescription() != null) {
+            sql.append(", description = :description");
+        }
+        if (patch.getCompleted() != null) {
+            sql.append(", completed = :completed");
+        }
+        sql.append(" WHERE id = :id");
+
+        DatabaseClient.GenericExecuteSpec update = databaseClient.sql(sql.toString()).bind("id", id);
+        if (patch.getTitle() != null) {
+            update = update.bind("title", patch.getTitle());
+        }
+        if (patch.getDescription() != null) {
+            update = update.bind("description", patch.getDescription());
+        }
+        if (patch.getCompleted() != null) {
+            update = update.bind("completed", patch.getCompleted());
+        }
+        return update.fetch().rowsUpdated().map(rows -> rows > 0);
+    }
+
+    public Mono<Void> deleteTask(Long id) {
+        return taskRepository.deleteById(id);
+    }
+
+    private static Criteria criteriaOf(TaskFilter filter) {
+        Criteria criteria = Criteria.empty();
+        if (filter.completed() != null) {
+            criteria = criteria.and("completed").is(filter.completed());
+        }
+        if (filter.titlePrefix() != null && !filter.titlePrefix().isEmpty()) {
+            String prefix = filter.titlePrefix();
+            criteria = criteria.and("title")
+                    .like(prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        return criteria.and(afterCursor(filter));
+    }
+
+    private static Criteria afterCursor(TaskFilter filter) {
+        Long afterId = filter.afterId();
+        if (afterId == null) {
+            return Criteria.empty();
+        }
+        if (filter.sort() != TaskFilter.SortBy.TITLE) {
+            return Criteria.where("id").greaterThan(afterId);
+        }
+        String afterTitle = filter.afterTitle();
+        if (afterTitle == null) {
+            // Null titles sort first, so the previous page ended among them.
+            return Criteria.where("title").isNull().and("id").greaterThan(afterId)
+                    .or(Criteria.where("title").isNotNull());
+        }
+        // The redundant title >= bound gives the database a start key for the index range scan.
+        return Criteria.where("title").greaterThanOrEquals(afterTitle)
+                .and(Criteria.where("title").greaterThan(afterTitle)
+                        .or(Criteria.where("title").is(afterTitle).and("id").greaterThan(afterId)));
+    }
+
+    private static Sort sortOf(TaskFilter filter) {
+        return filter.sort() == TaskFilter.SortBy.TITLE
+                ? Sort.by("title", "id")
+                : Sort.by("id");
+    }
+}
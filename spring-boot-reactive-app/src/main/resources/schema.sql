@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS task (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    completed BOOLEAN NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+-- Same indexes as the JPA Task entity: one per filter/sort combination of GET /api/tasks.
+CREATE INDEX IF NOT EXISTS idx_task_completed_id ON task (completed, id);
+CREATE INDEX IF NOT EXISTS idx_task_title_id ON task (title, id);
+CREATE INDEX IF NOT EXISTS idx_task_completed_title_id ON task (completed, title, id);
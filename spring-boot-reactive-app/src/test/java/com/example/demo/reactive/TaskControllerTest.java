@@ -0,0 +1,85 @@
+package com.example.demo.reactive;
+
+import com.example.demo.common.TaskControllerContractTest;
+import com.example.demo.common.TaskFilter;
+import com.example.demo.common.TaskPatch;
+import org.mockito.ArgumentMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * The shared {@link TaskControllerContractTest} scenarios, run against the reactive stack.
+ */
+@WebFluxTest(TaskController.class)
+@Import(SecurityConfig.class)
+public class TaskControllerTest extends TaskControllerContractTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private TaskService taskService;
+
+    @Override
+    protected WebTestClient webTestClient() {
+        return webTestClient;
+    }
+
+    @Override
+    protected void givenPage(TaskFilter filter, int limit, List<TaskData> tasks) {
+        given(taskService.findTasks(filter, limit)).willReturn(Flux.fromIterable(tasks).map(TaskControllerTest::toTask));
+    }
+
+    @Override
+    protected void givenAllTasks(List<TaskData> tasks) {
+        given(taskService.streamAllTasks()).willReturn(Flux.fromIterable(tasks).map(TaskControllerTest::toTask));
+    }
+
+    @Override
+    protected void givenTask(Long id, TaskData task) {
+        given(taskService.findTaskById(id)).willReturn(Mono.just(toTask(task)));
+    }
+
+    @Override
+    protected void givenUpdate(Long id, Set<Long> expectedVersions, TaskData updated) {
+        given(taskService.updateTask(eq(id), any(Task.class), eq(expectedVersions))).willReturn(Mono.just(toTask(updated)));
+    }
+
+    @Override
+    protected void givenStaleUpdate(Long id, Set<Long> expectedVersions) {
+        given(taskService.updateTask(eq(id), any(Task.class), eq(expectedVersions)))
+                .willReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+    }
+
+    @Override
+    protected void givenMissingUpdate(Long id) {
+        given(taskService.updateTask(eq(id), any(Task.class), isNull())).willReturn(Mono.empty());
+    }
+
+    @Override
+    protected void givenPatch(Long id, ArgumentMatcher<TaskPatch> patch, boolean found) {
+        given(taskService.patchTask(eq(id), argThat(patch))).willReturn(Mono.just(found));
+    }
+
+    private static Task toTask(TaskData data) {
+        Task task = new Task(data.title(), data.description(), data.completed());
+        task.setId(data.id());
+        task.setVersion(data.version());
+        return task;
+    }
+}
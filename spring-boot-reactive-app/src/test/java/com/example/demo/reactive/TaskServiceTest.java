@@ -0,0 +1,75 @@
+package com.example.demo.reactive;
+
+import com.example.demo.common.TaskFilter;
+import com.example.demo.common.TaskPatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs {@link TaskService} against the embedded R2DBC H2 database and the real schema.
+ */
+@DataR2dbcTest
+@Import(TaskService.class)
+public class TaskServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    public void clearTasks() {
+        taskRepository.deleteAll().block();
+    }
+
+    @Test
+    public void testKeysetPagesSortedByTitle() {
+        Flux.just("Buy tea", "Walk dog", "Buy milk", "Buy bread")
+                .concatMap(title -> taskService.createTask(new Task(title, "Description", false)))
+                .blockLast();
+
+        TaskFilter firstPage = new TaskFilter(null, "Buy", TaskFilter.SortBy.TITLE, null, null);
+        List<Task> page = taskService.findTasks(firstPage, 2).collectList().block();
+        assertEquals(List.of("Buy bread", "Buy milk"), page.stream().map(Task::getTitle).toList());
+        Task lastOnFirstPage = page.get(1);
+
+        TaskFilter secondPage = new TaskFilter(null, "Buy", TaskFilter.SortBy.TITLE,
+                lastOnFirstPage.getId(), lastOnFirstPage.getTitle());
+        taskService.findTasks(secondPage, 2)
+                .map(Task::getTitle).as(StepVerifier::create)
+                .expectNext("Buy tea")
+                .verifyComplete();
+    }
+
+    @Test
+    public void testPatchBumpsVersionAndStaleUpdateFails() {
+        Task task = taskService.createTask(new Task("Title", "Description", false)).block();
+
+        taskService.patchTask(task.getId(), new TaskPatch(null, null, true)).as(StepVerifier::create)
+                .expectNext(true)
+                .verifyComplete();
+        taskService.findTaskById(task.getId()).as(StepVerifier::create)
+                .expectNextMatches(patched -> patched.isCompleted() && patched.getVersion() == task.getVersion() + 1)
+                .verifyComplete();
+
+        taskService.updateTask(task.getId(), new Task("New", "Description", false), Set.of(task.getVersion()))
+                .as(StepVerifier::create)
+                .expectError(OptimisticLockingFailureException.class)
+                .verify();
+        taskService.patchTask(-1L, new TaskPatch("Missing", null, null)).as(StepVerifier::create)
+                .expectNext(false)
+                .verifyComplete();
+    }
+}
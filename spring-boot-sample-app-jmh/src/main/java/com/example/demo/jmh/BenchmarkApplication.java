@@ -0,0 +1,49 @@
+package com.example.demo.jmh;
+
+import com.example.demo.BulkResult;
+import com.example.demo.DemoApplication;
+import com.example.demo.Task;
+import com.example.demo.TaskService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts {@link DemoApplication} on a random port with its embedded H2 database, quietly,
+ * for use from a benchmark's {@code @Setup}.
+ */
+final class BenchmarkApplication {
+
+    static final String[] PROPERTIES = {
+            "server.port=0",
+            "spring.main.banner-mode=off",
+            "logging.level.root=WARN",
+            // One client issuing requests as fast as it can is exactly what these would stop.
+            "tasks.rate-limit.enabled=false",
+            "tasks.load-shedding.enabled=false"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(DemoApplication.class).properties(PROPERTIES).run();
+    }
+
+    /** Inserts {@code count} tasks and returns their ids. */
+    static long[] seed(TaskService taskService, int count) {
+        return taskService.createTasks(newTasks(count)).stream()
+                .mapToLong(BulkResult::id)
+                .toArray();
+    }
+
+    static List<Task> newTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task("Task " + i, "Benchmark task number " + i, i % 2 == 0));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.jmh;
+
+import com.example.demo.Task;
+import com.example.demo.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} hot paths against the real Spring context: cached and uncached reads by id,
+ * single creates and single updates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskServiceBenchmark {
+
+    private static final int SEEDED_TASKS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Cache taskCache;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+        taskCache = context.getBean(CacheManager.class).getCache("tasks");
+        ids = BenchmarkApplication.seed(taskService, SEEDED_TASKS);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Task> findTaskByIdCached() {
+        return taskService.findTaskById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Task> findTaskByIdUncached() {
+        long id = randomId();
+        taskCache.evict(id);
+        return taskService.findTaskById(id);
+    }
+
+    @Benchmark
+    public Task createTask() {
+        return taskService.createTask(new Task("Created", "Created by the benchmark", false));
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return taskService.updateTask(randomId(), new Task("Updated", "Updated by the benchmark", random.nextBoolean()));
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.demo.jmh;
+
+import com.example.demo.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding a list of tasks as {@code GET /api/tasks} can return it: JSON, CBOR or Smile, each
+ * plain or gzipped the way Tomcat compresses responses (default deflate level). The encoded size
+ * is printed once per fork, before the first warmup iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskWireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"identity", "gzip"})
+    public String encoding;
+
+    @Param({"100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        tasks = BenchmarkApplication.newTasks(size);
+        long id = 1;
+        for (Task task : tasks) {
+            task.setId(id++);
+            task.setVersion(0L);
+        }
+        buffer = new ByteArrayOutputStream(1 << 24);
+        System.out.printf("%n%s/%s: %,d tasks encode to %,d bytes%n", format, encoding, size, encode());
+    }
+
+    @Benchmark
+    public int encode() throws IOException {
+        buffer.reset();
+        if ("gzip".equals(encoding)) {
+            try (OutputStream out = new GZIPOutputStream(buffer, 8192)) {
+                objectMapper.writeValue(out, tasks);
+            }
+        } else {
+            objectMapper.writeValue(buffer, tasks);
+        }
+        return buffer.size();
+    }
+}
@@ -0,0 +1,45 @@
+#!/usr/bin/env bash
+# Measures time to first request and resident memory of one way of launching the app.
+#
+#   ./measure-startup.sh [runs] -- <command...>
+#
+# Each run starts the command with --server.port=$PORT appended, polls GET /api/tasks until it
+# answers 200, then prints the elapsed wall-clock time and the process's RSS at that moment.
+# Example, after mvn package -Pfast-startup -DskipTests:
+#
+#   ./measure-startup.sh 5 -- java -jar target/demo-0.0.1-SNAPSHOT-exec.jar
+#   cd target/fast-startup && ../../measure-startup.sh 5 -- java -XX:SharedArchiveFile=application.jsa \
+#       -Dspring.aot.enabled=true -jar demo-0.0.1-SNAPSHOT-exec.jar
+set -euo pipefail
+
+runs=3
+if [[ "${1:-}" != "--" ]]; then
+    runs=$1
+    shift
+fi
+[[ "${1:-}" == "--" ]] || { echo "usage: $0 [runs] -- <command...>" >&2; exit 2; }
+shift
+port=${PORT:-18080}
+
+total_ms=0
+total_rss=0
+for ((run = 1; run <= runs; run++)); do
+    start=$(date +%s%N)
+    "$@" --server.port="$port" >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$port/api/tasks"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "run $run: the application exited before answering" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    ms=$(( ($(date +%s%N) - start) / 1000000 ))
+    rss=$(awk '/^VmRSS:/ { print int($2 / 1024) }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "run $run: first request after $ms ms, RSS $rss MB"
+    total_ms=$((total_ms + ms))
+    total_rss=$((total_rss + rss))
+done
+echo "mean: first request after $((total_ms / runs)) ms, RSS $((total_rss / runs)) MB"
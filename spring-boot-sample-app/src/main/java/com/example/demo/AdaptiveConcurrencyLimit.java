@@ -0,0 +1,74 @@
+package com.example.demo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * A concurrency limit that finds what the database can take: AIMD, as in TCP congestion
+ * control. Each request that completes while threads are waiting for a pooled connection cuts
+ * the limit by 10%. Each one that completes without waiters, while the limit is at least half
+ * used, raises it by {@code 1/limit}, about one per round of requests. The limit settles just
+ * above the pool size, so excess requests are turned away at once instead of waiting in the pool
+ * until they time out.
+ *
+ * <p>Lock-free: admission is a compare-and-set on the in-flight count, and the limit is a
+ * {@code double} updated by compare-and-set on its bits.</p>
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final IntSupplier connectionWaiters;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, IntSupplier connectionWaiters) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.connectionWaiters = connectionWaiters;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    /** Admits a request if fewer than the limit are in flight; pair with {@link #release()}. */
+    boolean tryAcquire() {
+        int limit = limit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        int current = inFlight.getAndDecrement();
+        boolean saturated = connectionWaiters.getAsInt() > 0;
+        long bits;
+        double next;
+        do {
+            bits = limitBits.get();
+            double limit = Double.longBitsToDouble(bits);
+            if (saturated) {
+                next = Math.max(minLimit, limit * BACKOFF);
+            } else if (current * 2 >= limit) {
+                next = Math.min(maxLimit, limit + 1 / limit);
+            } else {
+                return;
+            }
+        } while (next != Double.longBitsToDouble(bits) && !limitBits.compareAndSet(bits, Double.doubleToLongBits(next)));
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Exchanges a username and password for a bearer token. This is the only place the
+ * password hash is checked; later requests just present the token.
+ */
+@RestController
+@Timed(value = "tasks.controller", histogram = true)
+@RequestMapping("/api/auth")
+public class AuthController {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    public record LoginRequest(String username, String password) {
+    }
+
+    public record TokenResponse(String token, String tokenType, long expiresIn) {
+    }
+
+    // A deliberately slow password hash per attempt; also slows down password guessing.
+    @RequestCost(10)
+    @PostMapping("/login")
+    public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest login) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(login.username(), login.password()));
+            return ResponseEntity.ok(new TokenResponse(tokenService.issueToken(authentication), "Bearer",
+                    tokenService.getTokenTtl().toSeconds()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+}
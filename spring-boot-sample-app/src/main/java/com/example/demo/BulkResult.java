@@ -0,0 +1,23 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item in a bulk request. Results are returned in the same
+ * order as the items they describe.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkResult(Long id, Status status, String error) {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, NOT_FOUND, FAILED
+    }
+
+    static BulkResult of(Long id, Status status) {
+        return new BulkResult(id, status, null);
+    }
+
+    static BulkResult failed(Long id, Exception e) {
+        return new BulkResult(id, Status.FAILED, e.getMessage());
+    }
+}
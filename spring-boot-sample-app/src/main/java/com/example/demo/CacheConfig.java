@@ -0,0 +1,20 @@
+package com.example.demo;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Turns on Spring's caching annotations. The caches themselves are Caffeine caches
+ * configured through {@code spring.cache.*} in {@code application.properties}; hit,
+ * miss and eviction counts are published as {@code cache.*} metrics under
+ * {@code /actuator/metrics}.
+ *
+ * <p>The cache advice is ordered outside the transaction advice so that
+ * {@code @CacheEvict} on a {@code @Transactional} method runs after the commit; evicting
+ * earlier would let a concurrent read put the pre-update row back.</p>
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+}
@@ -0,0 +1,41 @@
+package com.example.demo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remembers successfully validated tokens for a short while, so a client sending the same
+ * bearer token on every request pays for the signature check and JSON parsing once per
+ * {@code ttl} instead of once per request. Expiry is still checked on every hit.
+ */
+class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Cache<String, Jwt> validated;
+
+    CachingJwtDecoder(JwtDecoder delegate, Duration ttl, long maximumSize) {
+        this.delegate = delegate;
+        this.validated = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = validated.get(token, delegate::decode);
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && expiresAt.isBefore(Instant.now())) {
+            validated.invalidate(token);
+            throw new BadJwtException("Jwt expired at " + expiresAt);
+        }
+        return jwt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Answers 503 with {@code Retry-After} when the {@link AdaptiveConcurrencyLimit} is reached. A
+ * request holds its slot until its response is complete, including streamed (async) responses;
+ * an event stream gives it back as soon as it starts, since it holds no connection while open.
+ */
+class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final Counter rejected;
+
+    LoadSheddingFilter(AdaptiveConcurrencyLimit limit, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        Gauge.builder("tasks.load-shedding.limit", limit, AdaptiveConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("tasks.load-shedding.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("tasks.load-shedding.rejected")
+                .description("Requests refused with 503 because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limit.tryAcquire()) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        Release release = new Release();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            String contentType = response.getContentType();
+            if (request.isAsyncStarted()
+                    && (contentType == null || !contentType.startsWith(MediaType.TEXT_EVENT_STREAM_VALUE))) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    /** Gives the slot back exactly once, however the async request ends. */
+    private final class Release implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void run() {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
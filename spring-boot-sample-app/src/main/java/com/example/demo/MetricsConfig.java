@@ -0,0 +1,27 @@
+package com.example.demo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Metrics beyond what Spring Boot records on its own. Boot already publishes
+ * {@code http.server.requests}, the {@code @Timed} controller and service timers,
+ * {@code hibernate.*} statistics and {@code hikaricp.*} pool metrics at
+ * {@code /actuator/prometheus}; this adds the per-request SQL statement count.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    // Optional so that @WebMvcTest slices, which have no registry, still start.
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(meters -> registry.addInterceptor(new QueryCountInterceptor(meters)));
+    }
+}
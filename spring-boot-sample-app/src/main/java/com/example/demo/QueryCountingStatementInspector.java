@@ -0,0 +1,31 @@
+package com.example.demo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so
+ * {@link QueryCountInterceptor} can record how many queries each request ran. A request
+ * whose count grows with the size of its result is an N+1 pattern.
+ *
+ * <p>Registered through {@code hibernate.session_factory.statement_inspector}.</p>
+ */
+// StatementInspector is Serializable, but this one holds no state and is never serialized.
+@SuppressWarnings("serial")
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    static int count() {
+        return COUNT.get()[0];
+    }
+}
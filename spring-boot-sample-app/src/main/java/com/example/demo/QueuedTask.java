@@ -0,0 +1,25 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A task accepted by the write-behind queue, identified by its provisional {@code ticket} until it
+ * has been written and has a real {@code taskId}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QueuedTask(long ticket, Status status, Long taskId, String error) {
+
+    public enum Status {
+        QUEUED, CREATED, FAILED
+    }
+
+    static QueuedTask queued(long ticket) {
+        return new QueuedTask(ticket, Status.QUEUED, null, null);
+    }
+
+    static QueuedTask of(long ticket, BulkResult result) {
+        return result.status() == BulkResult.Status.CREATED
+                ? new QueuedTask(ticket, Status.CREATED, result.id(), null)
+                : new QueuedTask(ticket, Status.FAILED, null, result.error());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets: each request takes its handler's {@link RequestCost} from the bucket
+ * of the authenticated user, or of the remote address for anonymous requests, and is answered
+ * 429 with {@code Retry-After} when the bucket is short.
+ *
+ * <p>Runs after Spring Security, so the principal is known. Behind a proxy set
+ * {@code server.forward-headers-strategy} so the remote address is the client's. A known
+ * client's bucket is found without locking; only its first request inserts one.</p>
+ */
+class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final double rate;
+    private final int burst;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter rejected;
+
+    RateLimitInterceptor(double rate, int burst, MeterRegistry meterRegistry) {
+        this.rate = rate;
+        this.burst = burst;
+        // An idle bucket refills completely within burst / rate; after that it can be recreated.
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos((long) (burst / rate * 1e9)).plusMinutes(1))
+                .maximumSize(1_000_000)
+                .build();
+        this.rejected = Counter.builder("tasks.rate-limit.rejected")
+                .description("Requests refused with 429 because the client's token bucket was empty")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // A streamed response is handed back to MVC in an ASYNC dispatch; it was paid for already,
+        // and the response may be committed by then.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientOf(request), client -> new TokenBucket(rate, burst, now));
+        long wait = bucket.tryTake(costOf(handler), now);
+        if (wait == 0) {
+            return true;
+        }
+        rejected.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+        return false;
+    }
+
+    /** The authenticated user, or the remote address for anonymous requests. */
+    static String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    private static int costOf(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            RequestCost cost = method.getMethodAnnotation(RequestCost.class);
+            if (cost != null) {
+                return cost.value();
+            }
+        }
+        return 1;
+    }
+}
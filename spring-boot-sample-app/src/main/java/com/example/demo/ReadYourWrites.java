@@ -0,0 +1,79 @@
+package com.example.demo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-your-writes on top of asynchronous replicas. For {@code window} after a client's write
+ * commits, that client's reads stay on the primary, so it sees its own change even while the
+ * replicas lag. A client is the authenticated user, or the remote address for anonymous requests
+ * (as for rate limits); outside a request, the current thread. The window should cover the
+ * replicas' worst normal lag.
+ *
+ * <p>Other clients may read the old row from a replica during the window, and a cache miss in
+ * that time may put it in the task cache. The changed tasks are therefore evicted once more when
+ * the window has passed, which bounds that staleness by the window as well.</p>
+ */
+class ReadYourWrites {
+
+    private final Duration window;
+    private final CacheManager cacheManager;
+    // Present while the client's window lasts.
+    private final Cache<String, Boolean> recentWriters;
+    private final ScheduledExecutorService evictions = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-cache-late-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    ReadYourWrites(Duration window, CacheManager cacheManager) {
+        this.window = window;
+        this.cacheManager = cacheManager;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(1_000_000)
+                .build();
+    }
+
+    /** Whether the current client wrote within the window. */
+    boolean isSticky() {
+        return recentWriters.getIfPresent(currentClient()) != null;
+    }
+
+    @EventListener
+    public void onChangesCommitted(TaskChangeLog.ChangesCommitted event) {
+        recentWriters.put(currentClient(), Boolean.TRUE);
+        List<Long> taskIds = event.taskIds();
+        evictions.schedule(() -> {
+            org.springframework.cache.Cache cache = cacheManager.getCache(TaskService.TASK_CACHE);
+            if (cache != null) {
+                taskIds.forEach(cache::evict);
+            }
+        }, window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        evictions.shutdownNow();
+    }
+
+    private static String currentClient() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request instanceof ServletRequestAttributes servlet) {
+            return RateLimitInterceptor.clientOf(servlet.getRequest());
+        }
+        return "thread:" + Thread.currentThread().getId();
+    }
+}
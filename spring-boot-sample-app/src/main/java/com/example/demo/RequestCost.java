@@ -0,0 +1,19 @@
+package com.example.demo;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * How many rate-limit tokens a request to the annotated handler takes from the client's
+ * bucket; handlers without it cost 1. See {@link RateLimitInterceptor}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RequestCost {
+
+    int value();
+}
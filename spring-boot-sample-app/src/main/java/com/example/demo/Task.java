@@ -4,17 +4,33 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
+// One index per filter/sort combination of GET /api/tasks, each ending in id for the keyset cursor.
+@Table(indexes = {
+        @Index(name = "idx_task_completed_id", columnList = "completed, id"),
+        @Index(name = "idx_task_title_id", columnList = "title, id"),
+        @Index(name = "idx_task_completed_title_id", columnList = "completed, title, id")
+})
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // A pooled sequence (rather than IDENTITY) lets Hibernate batch inserts.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
     private String title;
     private String description;
     private boolean completed;
 
+    // Bumped on every update; doubles as the ETag of GET /api/tasks/{id}.
+    @Version
+    private Long version;
+
     // Constructors
     public Task() {
     }
@@ -57,4 +73,12 @@ public class Task {
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,102 @@
+package com.example.demo;
+
+import com.example.demo.common.TaskPatch;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+
+import java.time.Instant;
+
+/**
+ * One row of the task outbox: a create, update, patch or delete, with the task as it was
+ * committed. A patch carries only the fields it set and no version; read the task for the rest.
+ * Rows are written in the same transaction as the change and never updated.
+ */
+@Entity
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskChange {
+
+    public enum Type {
+        CREATED, UPDATED, PATCHED, DELETED
+    }
+
+    // Increases in commit order within one instance; the cursor of GET /api/tasks/changes.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_change_seq")
+    @SequenceGenerator(name = "task_change_seq", sequenceName = "task_change_seq", allocationSize = 50)
+    @Column(name = "seq")
+    private Long sequence;
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    private Long taskId;
+    private Instant changedAt;
+
+    // Snapshot of the task after the change; all null for DELETED, only the patched fields for PATCHED.
+    private Long version;
+    private String title;
+    private String description;
+    private Boolean completed;
+
+    protected TaskChange() {
+    }
+
+    TaskChange(Type type, Long taskId, Task task, Instant changedAt) {
+        this.type = type;
+        this.taskId = taskId;
+        this.changedAt = changedAt;
+        if (task != null) {
+            this.version = task.getVersion();
+            this.title = task.getTitle();
+            this.description = task.getDescription();
+            this.completed = task.isCompleted();
+        }
+    }
+
+    TaskChange(Long taskId, TaskPatch patch, Instant changedAt) {
+        this.type = Type.PATCHED;
+        this.taskId = taskId;
+        this.changedAt = changedAt;
+        this.title = patch.getTitle();
+        this.description = patch.getDescription();
+        this.completed = patch.getCompleted();
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+}
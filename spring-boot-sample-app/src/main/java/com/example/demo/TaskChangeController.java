@@ -0,0 +1,70 @@
+package com.example.demo;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * The change feed: what happened to tasks since a given outbox sequence, either as pages to poll
+ * or as a live server-sent-event stream.
+ */
+@RestController
+@Timed(value = "tasks.controller", histogram = true)
+@RequestMapping("/api/tasks/changes")
+public class TaskChangeController {
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private TaskChangeStream taskChangeStream;
+
+    /**
+     * Changes after {@code since}, oldest first. Pollers pass the {@code sequence} of the last
+     * change they saw; a full page links to the next one.
+     */
+    @RequestCost(5)
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TaskChange>> getChanges(@RequestParam(value = "since", defaultValue = "0") long since,
+                                                       @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, TaskController.MAX_PAGE_SIZE));
+        List<TaskChange> changes = taskChangeLog.changesSince(since, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (changes.size() == pageSize) {
+            ServletUriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequest();
+            next.replaceQueryParam("since", changes.get(changes.size() - 1).getSequence());
+            next.replaceQueryParam("limit", pageSize);
+            // Any other parameters arrive already encoded in the request URI; encoding again would turn % into %25.
+            response.header(HttpHeaders.LINK, "<" + next.build(true).toUriString() + ">; rel=\"next\"");
+        }
+        return response.body(changes);
+    }
+
+    /**
+     * A live stream of changes, or 503 with {@code Retry-After} when too many streams are open.
+     * EventSource sends Last-Event-ID when it reconnects, which resumes where the stream broke off.
+     */
+    @RequestCost(50)
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(@RequestParam(value = "since", required = false) Long since,
+                                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return taskChangeStream.subscribe(lastEventId != null ? lastEventId : since)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.demo;
+
+import com.example.demo.common.TaskPatch;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The transactional outbox. {@link TaskService} records each change to a task here, and the
+ * change row is inserted in the same transaction, so it commits or rolls back with the task.
+ *
+ * <p>Sequences are handed out just before commit, but transactions still commit in a different
+ * order than they got their numbers. Readers therefore only see changes up to
+ * {@link #committedUpTo()}, below the oldest sequence whose transaction is still in flight, so a
+ * cursor never skips a change that commits late. That bookkeeping is per process: with more than
+ * one instance writing, feed readers should go through a single instance.
+ */
+@Component
+public class TaskChangeLog {
+
+    /**
+     * Published after a transaction that recorded changes has committed, on the thread that
+     * committed it.
+     */
+    public record ChangesCommitted(long lastSequence, List<Long> taskIds) {
+    }
+
+    // Exactly one of task and patch is set, except for DELETED, which has neither.
+    private record PendingChange(TaskChange.Type type, Long taskId, Task task, TaskPatch patch) {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskChangeRepository taskChangeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Guarded by this: sequences handed out to transactions that have not completed yet.
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long lastAllocated;
+
+    @PostConstruct
+    void loadLastSequence() {
+        lastAllocated = taskChangeRepository.findLastSequence();
+    }
+
+    public void recordCreated(Task task) {
+        outbox().changes.add(new PendingChange(TaskChange.Type.CREATED, task.getId(), task, null));
+    }
+
+    public void recordUpdated(Task task) {
+        outbox().changes.add(new PendingChange(TaskChange.Type.UPDATED, task.getId(), task, null));
+    }
+
+    /** Records a patch by the fields it set, so the patched row need not be read back. */
+    public void recordPatched(Long taskId, TaskPatch patch) {
+        outbox().changes.add(new PendingChange(TaskChange.Type.PATCHED, taskId, null, patch));
+    }
+
+    public void recordDeleted(Long taskId) {
+        outbox().changes.add(new PendingChange(TaskChange.Type.DELETED, taskId, null, null));
+    }
+
+    /**
+     * Returns up to {@code limit} committed changes after {@code since}, oldest first.
+     */
+    public List<TaskChange> changesSince(long since, int limit) {
+        long upTo = committedUpTo();
+        if (upTo <= since) {
+            return List.of();
+        }
+        return taskChangeRepository.findBySequenceBetweenOrderBySequence(since + 1, upTo, Limit.of(limit));
+    }
+
+    /** The highest sequence below which every transaction has either committed or rolled back. */
+    public synchronized long committedUpTo() {
+        return inFlight.isEmpty() ? lastAllocated : inFlight.first() - 1;
+    }
+
+    private Outbox outbox() {
+        Outbox outbox = (Outbox) TransactionSynchronizationManager.getResource(this);
+        if (outbox == null) {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new IllegalStateException("Task changes can only be recorded inside a transaction");
+            }
+            outbox = new Outbox();
+            TransactionSynchronizationManager.bindResource(this, outbox);
+            TransactionSynchronizationManager.registerSynchronization(outbox);
+        }
+        return outbox;
+    }
+
+    private synchronized void insert(TaskChange change, List<Long> sequences) {
+        // Persisting assigns the sequence; doing it under the lock keeps allocation and
+        // registration atomic, so committedUpTo() never passes a number about to be in flight.
+        entityManager.persist(change);
+        inFlight.add(change.getSequence());
+        lastAllocated = Math.max(lastAllocated, change.getSequence());
+        sequences.add(change.getSequence());
+    }
+
+    private synchronized void release(List<Long> sequences) {
+        inFlight.removeAll(sequences);
+    }
+
+    private final class Outbox implements TransactionSynchronization {
+
+        private final List<PendingChange> changes = new ArrayList<>();
+        private final List<Long> sequences = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Flush first so the snapshots carry the versions Hibernate assigns on flush. Nothing
+            // translates exceptions thrown here, so a versioned write that lost a race would reach
+            // the caller as a raw OptimisticLockException instead of a Spring one.
+            try {
+                entityManager.flush();
+            } catch (RuntimeException e) {
+                DataAccessException translated = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+                throw translated != null ? translated : e;
+            }
+            Instant now = Instant.now();
+            for (PendingChange pending : changes) {
+                insert(pending.patch() != null
+                        ? new TaskChange(pending.taskId(), pending.patch(), now)
+                        : new TaskChange(pending.type(), pending.taskId(), pending.task(), now), sequences);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(TaskChangeLog.this);
+            release(sequences);
+            if (status == STATUS_COMMITTED && !sequences.isEmpty()) {
+                eventPublisher.publishEvent(new ChangesCommitted(sequences.get(sequences.size() - 1),
+                        changes.stream().map(PendingChange::taskId).toList()));
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Read-write even for queries, so that with read replicas the outbox is always read from the
+// primary: a replica may not have caught up to TaskChangeLog.committedUpTo().
+@Repository
+@Transactional
+public interface TaskChangeRepository extends JpaRepository<TaskChange, Long> {
+
+    List<TaskChange> findBySequenceBetweenOrderBySequence(long from, long to, Limit limit);
+
+    @Query("select coalesce(max(c.sequence), 0) from TaskChange c")
+    long findLastSequence();
+}
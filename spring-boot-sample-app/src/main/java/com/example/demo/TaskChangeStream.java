@@ -0,0 +1,239 @@
+package com.example.demo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed task changes to server-sent-event subscribers.
+ *
+ * <p>One dispatcher thread reads the outbox: each commit schedules at most one read of the new
+ * changes, so the outbox is read once per burst rather than once per client. The dispatcher only
+ * hands each batch to the subscribers' own bounded queues. A fixed pool of sender threads drains
+ * those queues, one subscriber at a time per thread, so a slow client only delays itself and the
+ * clients queued behind the same sender; a write to a client that stopped reading blocks only
+ * until the connector's write timeout. A client whose queue is full has fallen behind: its stream
+ * is completed, and it resumes from the outbox when it reconnects with {@code Last-Event-ID}.
+ *
+ * <p>At most {@code tasks.changes.max-subscribers} streams are open at once; {@link #subscribe}
+ * refuses the rest.
+ */
+@Component
+public class TaskChangeStream {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<List<TaskChange>> pending;
+        // Set while a sender task owns the subscriber; only that task touches cursor and replayed.
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean removed = new AtomicBoolean();
+        volatile boolean dropped;
+        long cursor;
+        boolean replayed;
+
+        Subscriber(SseEmitter emitter, long cursor, int maxPendingBatches) {
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(maxPendingBatches);
+            this.cursor = cursor;
+        }
+    }
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Value("${tasks.changes.stream-timeout:30m}")
+    private Duration streamTimeout;
+
+    @Value("${tasks.changes.max-pending-batches:32}")
+    private int maxPendingBatches;
+
+    @Value("${tasks.changes.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${tasks.changes.sender-threads:4}")
+    private int senderThreads;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    // Counts streams from subscribe until removal, including those not yet added to subscribers.
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(daemonThreads("task-change-stream"));
+    private ExecutorService senders;
+
+    // Only touched on the dispatcher thread after start().
+    private long lastDispatched;
+
+    /**
+     * Opens a stream that first replays the changes after {@code since}, then follows new ones.
+     * A {@code null} {@code since} starts from the changes committed from now on.
+     *
+     * @return empty when {@code tasks.changes.max-subscribers} streams are already open.
+     */
+    public Optional<SseEmitter> subscribe(Long since) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        return subscribe(emitter, since) ? Optional.of(emitter) : Optional.empty();
+    }
+
+    boolean subscribe(SseEmitter emitter, Long since) {
+        int count;
+        do {
+            count = open.get();
+            if (count >= maxSubscribers) {
+                return false;
+            }
+        } while (!open.compareAndSet(count, count + 1));
+        long from = since != null ? since : taskChangeLog.committedUpTo();
+        Subscriber subscriber = new Subscriber(emitter, from, maxPendingBatches);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(subscriber));
+        // Joining on the dispatcher thread means every later batch reaches the queue; the sender
+        // replays what came before, and the cursor skips anything seen twice.
+        dispatcher.execute(() -> {
+            subscribers.add(subscriber);
+            // The stream may have ended before it joined; remove() then found nothing to take out.
+            if (subscriber.removed.get()) {
+                subscribers.remove(subscriber);
+            } else {
+                schedule(subscriber);
+            }
+        });
+        return true;
+    }
+
+    int subscriberCount() {
+        return open.get();
+    }
+
+    @PostConstruct
+    void start() {
+        senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("task-change-sender"));
+        lastDispatched = taskChangeLog.committedUpTo();
+    }
+
+    @EventListener
+    public void onChangesCommitted(TaskChangeLog.ChangesCommitted event) {
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void dispatch() {
+        // Cleared before reading, so a commit landing during the read schedules another pass.
+        dispatchScheduled.set(false);
+        if (subscribers.isEmpty()) {
+            lastDispatched = taskChangeLog.committedUpTo();
+            return;
+        }
+        List<TaskChange> changes;
+        do {
+            changes = taskChangeLog.changesSince(lastDispatched, BATCH_SIZE);
+            if (changes.isEmpty()) {
+                return;
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.pending.offer(changes)) {
+                    schedule(subscriber);
+                } else {
+                    remove(subscriber);
+                    subscriber.dropped = true;
+                    subscriber.emitter.complete();
+                }
+            }
+            lastDispatched = changes.get(changes.size() - 1).getSequence();
+        } while (changes.size() == BATCH_SIZE);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    /** Replays the subscriber's backlog once, then writes its queued batches in order. */
+    private void drain(Subscriber subscriber) {
+        try {
+            while (!subscriber.dropped) {
+                if (!subscriber.replayed) {
+                    List<TaskChange> changes;
+                    do {
+                        changes = taskChangeLog.changesSince(subscriber.cursor, BATCH_SIZE);
+                        send(subscriber, changes);
+                    } while (changes.size() == BATCH_SIZE);
+                    subscriber.replayed = true;
+                }
+                List<TaskChange> changes = subscriber.pending.poll();
+                if (changes == null) {
+                    break;
+                }
+                send(subscriber, changes);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed.
+            remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A batch queued after the last poll but before draining was cleared would otherwise wait
+        // for the next commit.
+        if (!subscriber.pending.isEmpty() && !subscriber.dropped) {
+            schedule(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            open.decrementAndGet();
+        }
+    }
+
+    private static void send(Subscriber subscriber, List<TaskChange> changes) throws IOException {
+        for (TaskChange change : changes) {
+            if (change.getSequence() > subscriber.cursor) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.getSequence()))
+                        .name("task-change")
+                        .data(change, MediaType.APPLICATION_JSON));
+                subscriber.cursor = change.getSequence();
+            }
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,27 +1,140 @@
 package com.example.demo;
 
+import com.example.demo.common.ETags;
+import com.example.demo.common.TaskFilter;
+import com.example.demo.common.TaskPatch;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 @RestController
+@Timed(value = "tasks.controller", histogram = true)
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    static final int MAX_PAGE_SIZE = 1000;
+    // Ranked pages are found by keeping the best offset + limit matches, so deep pages are capped.
+    static final int MAX_SEARCH_WINDOW = 10_000;
+
     @Autowired
     private TaskService taskService;
 
-    @GetMapping
-    public List<Task> getAllTasks() {
-        return taskService.findAllTasks();
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Present only with tasks.write-behind.enabled=true.
+    @Autowired
+    private ObjectProvider<TaskWriteBehindQueue> writeBehindQueue;
+
+    @Value("${tasks.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    // JSON unless the client asks for one of the binary encodings of the same structure.
+    @RequestCost(5)
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public ResponseEntity<List<Task>> getAllTasks(@RequestParam(value = "completed", required = false) Boolean completed,
+                                                  @RequestParam(value = "titlePrefix", required = false) String titlePrefix,
+                                                  @RequestParam(value = "sort", defaultValue = "id") String sortBy,
+                                                  @RequestParam(value = "after", required = false) Long afterId,
+                                                  @RequestParam(value = "afterTitle", required = false) String afterTitle,
+                                                  @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        TaskFilter.SortBy sort = TaskFilter.SortBy.parse(sortBy);
+        if (sort == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TaskFilter filter = new TaskFilter(completed, titlePrefix, sort, afterId, afterTitle);
+        List<Task> tasks = taskService.findTasks(filter, pageSize);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (tasks.size() == pageSize) {
+            Task last = tasks.get(tasks.size() - 1);
+            ServletUriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequest();
+            next.replaceQueryParam("after", last.getId());
+            next.replaceQueryParam("afterTitle");
+            if (sort == TaskFilter.SortBy.TITLE && last.getTitle() != null) {
+                next.replaceQueryParam("afterTitle", UriUtils.encodeQueryParam(last.getTitle(), StandardCharsets.UTF_8));
+            }
+            next.replaceQueryParam("limit", pageSize);
+            // The other parameters arrive already encoded in the request URI; encoding again would turn % into %25.
+            response.header(HttpHeaders.LINK, "<" + next.build(true).toUriString() + ">; rel=\"next\"");
+        }
+        return response.body(tasks);
+    }
+
+    /**
+     * Tasks containing every word of {@code q} in their title or description, best match first.
+     * The total number of matches is in {@code X-Total-Count}; 503 while the index is being built.
+     */
+    @RequestCost(5)
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<Task>> searchTasks(@RequestParam("q") String query,
+                                                  @RequestParam(value = "offset", defaultValue = "0") int offset,
+                                                  @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Written so that a huge offset cannot overflow past the check.
+        if (offset < 0 || offset > MAX_SEARCH_WINDOW - pageSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return taskService.searchTasks(query, offset, pageSize)
+                .map(results -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .header("X-Total-Count", String.valueOf(results.total()));
+                    int nextOffset = offset + pageSize;
+                    if (nextOffset < results.total() && nextOffset + pageSize <= MAX_SEARCH_WINDOW) {
+                        ServletUriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequest();
+                        next.replaceQueryParam("offset", nextOffset);
+                        next.replaceQueryParam("limit", pageSize);
+                        // q arrives already encoded in the request URI; only numbers are added here.
+                        response.header(HttpHeaders.LINK, "<" + next.build(true).toUriString() + ">; rel=\"next\"");
+                    }
+                    return response.body(results.tasks());
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
     }
 
+    // The whole table, and a connection held while it streams.
+    @RequestCost(50)
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        StreamingResponseBody body = out -> taskService.streamAllTasks(task -> writeLine(out, task));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    // Spring answers a matching If-None-Match with 304 from the ETag alone, without writing the body.
     @GetMapping("/{id}")
     public ResponseEntity<Task> getTaskById(@PathVariable(value = "id") Long taskId) {
         return taskService.findTaskById(taskId)
-                .map(task -> ResponseEntity.ok().body(task))
+                .map(task -> ResponseEntity.ok().eTag(ETags.of(task.getVersion())).body(task))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -30,20 +143,124 @@ public class TaskController {
         return taskService.createTask(task);
     }
 
+    /**
+     * Opt-in write-behind ({@code Prefer: respond-async}): answers 202 with a ticket as soon as the
+     * task is queued, or 429 when the queue is full. Without the queue the preference is ignored
+     * and the task is created synchronously.
+     */
+    @PostMapping(headers = "Prefer=respond-async")
+    public ResponseEntity<Object> createTaskAsync(@RequestBody Task task) {
+        TaskWriteBehindQueue queue = writeBehindQueue.getIfAvailable();
+        if (queue == null) {
+            return ResponseEntity.ok(taskService.createTask(task));
+        }
+        return queue.submit(task)
+                .<ResponseEntity<Object>>map(queued -> ResponseEntity.accepted()
+                        .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                                .path("/queued/{ticket}").buildAndExpand(queued.ticket()).toUri())
+                        .header("Preference-Applied", "respond-async")
+                        .body(queued))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+
+    @GetMapping("/queued/{ticket}")
+    public ResponseEntity<QueuedTask> getQueuedTask(@PathVariable(value = "ticket") long ticket) {
+        TaskWriteBehindQueue queue = writeBehindQueue.getIfAvailable();
+        return ResponseEntity.of(queue != null ? queue.status(ticket) : Optional.empty());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(@PathVariable(value = "id") Long taskId,
-                                           @RequestBody Task taskDetails) {
+                                           @RequestBody Task taskDetails,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Task updatedTask = taskService.updateTask(taskId, taskDetails);
-            return ResponseEntity.ok(updatedTask);
-        } catch (RuntimeException e) {
+            Task updatedTask = taskService.updateTask(taskId, taskDetails, ETags.versionsOf(ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(updatedTask.getVersion())).body(updatedTask);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (TaskNotFoundException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchTask(@PathVariable(value = "id") Long taskId,
+                                          @RequestBody TaskPatch patch) {
+        if (patch.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return taskService.patchTask(taskId, patch)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @RequestCost(20)
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<BulkResult> createTasks(@RequestBody List<Task> tasks) {
+        return taskService.createTasks(tasks);
+    }
+
+    @RequestCost(20)
+    @PostMapping(value = "/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    public void createTasks(InputStream body, HttpServletResponse response) throws IOException {
+        writeNdjsonInChunks(body, response, taskService::createTasks);
+    }
+
+    @RequestCost(20)
+    @PutMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public List<BulkResult> updateTasks(@RequestBody List<Task> tasks) {
+        return taskService.updateTasks(tasks);
+    }
+
+    @RequestCost(20)
+    @PutMapping(value = "/bulk", consumes = APPLICATION_NDJSON_VALUE)
+    public void updateTasks(InputStream body, HttpServletResponse response) throws IOException {
+        writeNdjsonInChunks(body, response, taskService::updateTasks);
+    }
+
+    @RequestCost(20)
+    @DeleteMapping("/bulk")
+    public List<BulkResult> deleteTasks(@RequestBody List<Long> taskIds) {
+        return taskService.deleteTasks(taskIds);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(@PathVariable(value = "id") Long taskId) {
         taskService.deleteTask(taskId);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Reads one task per line and hands them to the service a chunk at a time, writing one
+     * result line per input line, so neither the upload nor the results are held in memory.
+     */
+    private void writeNdjsonInChunks(InputStream body, HttpServletResponse response,
+                                     Function<List<Task>, List<BulkResult>> writer) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        try (MappingIterator<Task> lines = objectMapper.readerFor(Task.class).readValues(body)) {
+            List<Task> chunk = new ArrayList<>(bulkChunkSize);
+            while (lines.hasNextValue()) {
+                chunk.add(lines.nextValue());
+                if (chunk.size() == bulkChunkSize) {
+                    writer.apply(chunk).forEach(result -> writeLine(out, result));
+                    chunk = new ArrayList<>(bulkChunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writer.apply(chunk).forEach(result -> writeLine(out, result));
+            }
+        }
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
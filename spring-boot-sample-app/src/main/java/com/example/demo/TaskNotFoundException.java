@@ -0,0 +1,13 @@
+package com.example.demo;
+
+/**
+ * Thrown when a write names a task that does not exist.
+ */
+public class TaskNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TaskNotFoundException(Long id) {
+        super("Task not found with id: " + id);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo;
+
+import com.example.demo.common.TaskPatch;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Applies the non-null fields of {@code patch} with a single
+     * {@code UPDATE task SET ... WHERE id = ?}.
+     *
+     * @return the number of rows updated, 0 if no task has that id.
+     */
+    int patch(Long id, TaskPatch patch);
+}
@@ -0,0 +1,399 @@
+package com.example.demo;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory inverted index over task titles and descriptions, ranked with BM25.
+ *
+ * <p>The index is built from a scan of the table once the application is ready, then kept up
+ * to date from the {@link TaskChangeLog} outbox, so it sees every committed write (bulk ones
+ * included) a few milliseconds after commit. Index maintenance runs on one thread; searches
+ * take a read lock and never touch the database.
+ *
+ * <p>A query matches tasks containing all of its terms. Candidates come from the rarest term's
+ * postings and are checked against the others, so a search costs about as much as its most
+ * selective term has matches.
+ *
+ * <p>If the first build fails, it is logged and retried with a growing delay, up to a minute
+ * apart; searches answer empty until one succeeds.
+ */
+@Component
+public class TaskSearchIndex {
+
+    /** One page of matching task ids, best first, and the number of matches in total. */
+    public record Hits(List<Long> taskIds, int total) {
+    }
+
+    private static final Pattern TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int BATCH_SIZE = 1000;
+    private static final long MAX_RETRY_DELAY_SECONDS = 60;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock; replaced wholesale by a rebuild.
+    private Inverted index = new Inverted();
+    private volatile boolean ready;
+
+    private final AtomicBoolean catchUpScheduled = new AtomicBoolean();
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "task-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only touched on the indexer thread: the last outbox sequence applied to the index.
+    private long cursor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        buildUntilReady(1);
+    }
+
+    /**
+     * Rebuilds the index from the table in the background. Searches keep using the old index
+     * until the new one is complete.
+     */
+    public CompletableFuture<Void> rebuild() {
+        return CompletableFuture.runAsync(this::build, indexer);
+    }
+
+    private void buildUntilReady(long retryDelaySeconds) {
+        if (indexer.isShutdown()) {
+            return;
+        }
+        rebuild().whenComplete((ignored, failure) -> {
+            if (failure == null || indexer.isShutdown()) {
+                return;
+            }
+            log.error("Building the search index failed; retrying in {} s", retryDelaySeconds, failure);
+            long nextDelay = Math.min(retryDelaySeconds * 2, MAX_RETRY_DELAY_SECONDS);
+            CompletableFuture.delayedExecutor(retryDelaySeconds, TimeUnit.SECONDS)
+                    .execute(() -> buildUntilReady(nextDelay));
+        });
+    }
+
+    @EventListener
+    public void onChangesCommitted(TaskChangeLog.ChangesCommitted event) {
+        if (catchUpScheduled.compareAndSet(false, true)) {
+            indexer.execute(this::catchUp);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        indexer.shutdownNow();
+    }
+
+    /**
+     * Returns the best {@code limit} matches after skipping {@code offset}, or empty while the
+     * index is still being built for the first time.
+     */
+    public Optional<Hits> search(String query, int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            return Optional.of(index.search(terms, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void build() {
+        // Changes committed during the scan are replayed afterwards; applying one twice is harmless.
+        long scannedFrom = taskChangeLog.committedUpTo();
+        Inverted fresh = new Inverted();
+        // Not read-only: read-only transactions may go to a replica, which could still be missing
+        // changes up to scannedFrom that the catch-up below will not replay.
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<Task> tasks = taskRepository.streamAllOrderedById()) {
+                tasks.forEach(task -> {
+                    fresh.add(task.getId(), task.getTitle(), task.getDescription());
+                    entityManager.detach(task);
+                });
+            }
+        });
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        cursor = scannedFrom;
+        ready = true;
+        catchUp();
+    }
+
+    private void catchUp() {
+        catchUpScheduled.set(false);
+        if (!ready) {
+            return;
+        }
+        List<TaskChange> changes;
+        do {
+            changes = taskChangeLog.changesSince(cursor, BATCH_SIZE);
+            if (changes.isEmpty()) {
+                return;
+            }
+            // A patch carries only the fields it set, so a task whose text was patched is read back
+            // here, off the request path. Its current row is at least as new as every change in the
+            // batch, so it is applied last.
+            Set<Long> patched = new LinkedHashSet<>();
+            for (TaskChange change : changes) {
+                if (change.getType() == TaskChange.Type.PATCHED
+                        && (change.getTitle() != null || change.getDescription() != null)) {
+                    patched.add(change.getTaskId());
+                }
+            }
+            Map<Long, Task> current = new HashMap<>();
+            if (!patched.isEmpty()) {
+                // Not read-only, for the same reason as in build().
+                new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                        taskRepository.findAllById(patched).forEach(task -> current.put(task.getId(), task)));
+            }
+            lock.writeLock().lock();
+            try {
+                for (TaskChange change : changes) {
+                    if (change.getType() == TaskChange.Type.PATCHED) {
+                        // Only the completed flag changed, or the task is among those re-read.
+                        continue;
+                    }
+                    index.remove(change.getTaskId());
+                    if (change.getType() != TaskChange.Type.DELETED) {
+                        index.add(change.getTaskId(), change.getTitle(), change.getDescription());
+                    }
+                }
+                for (Long taskId : patched) {
+                    index.remove(taskId);
+                    Task task = current.get(taskId);
+                    if (task != null) {
+                        index.add(taskId, task.getTitle(), task.getDescription());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            cursor = changes.get(changes.size() - 1).getSequence();
+        } while (changes.size() == BATCH_SIZE);
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text != null) {
+            Matcher matcher = TOKEN.matcher(text.toLowerCase(Locale.ROOT));
+            while (matcher.find()) {
+                tokens.add(matcher.group());
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The postings of one term: task id -> weighted term frequency (title occurrences count
+     * TITLE_WEIGHT times). Most terms occur in a single task, so that one posting is kept inline
+     * and the map is only allocated for the second.
+     */
+    private static final class Term {
+        private long onlyTask;
+        private int onlyFrequency;
+        private LongIntHashMap postings;
+
+        int size() {
+            return postings != null ? postings.size() : onlyFrequency > 0 ? 1 : 0;
+        }
+
+        int get(long taskId) {
+            if (postings != null) {
+                return postings.get(taskId, 0);
+            }
+            return onlyTask == taskId ? onlyFrequency : 0;
+        }
+
+        void put(long taskId, int frequency) {
+            if (postings == null && (onlyFrequency == 0 || onlyTask == taskId)) {
+                onlyTask = taskId;
+                onlyFrequency = frequency;
+                return;
+            }
+            if (postings == null) {
+                postings = new LongIntHashMap();
+                postings.put(onlyTask, onlyFrequency);
+            }
+            postings.put(taskId, frequency);
+        }
+
+        void remove(long taskId) {
+            if (postings != null) {
+                postings.remove(taskId);
+            } else if (onlyTask == taskId) {
+                onlyFrequency = 0;
+            }
+        }
+
+        void forEach(LongIntHashMap.EntryConsumer consumer) {
+            if (postings != null) {
+                postings.forEach(consumer);
+            } else if (onlyFrequency > 0) {
+                consumer.accept(onlyTask, onlyFrequency);
+            }
+        }
+    }
+
+    private record Scored(long taskId, double score) {
+    }
+
+    private static final Comparator<Scored> BEST_LAST = Comparator.comparingDouble(Scored::score)
+            .thenComparing(Comparator.comparingLong(Scored::taskId).reversed());
+
+    private static boolean outranks(double score, long taskId, Scored worst) {
+        return score > worst.score() || (score == worst.score() && taskId < worst.taskId());
+    }
+
+    /** The index data itself; not thread-safe. */
+    private static final class Inverted {
+
+        private final Map<String, Term> dictionary = new HashMap<>();
+        // Kept per task so that an update or delete can find the postings to remove it from.
+        private final Map<Long, Term[]> termsByTask = new HashMap<>();
+        private final LongIntHashMap lengths = new LongIntHashMap();
+        private long totalLength;
+
+        void add(long taskId, String title, String description) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokenize(title)) {
+                frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String token : tokenize(description)) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            Term[] terms = new Term[frequencies.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                Term term = dictionary.computeIfAbsent(frequency.getKey(), key -> new Term());
+                term.put(taskId, frequency.getValue());
+                terms[i++] = term;
+                length += frequency.getValue();
+            }
+            termsByTask.put(taskId, terms);
+            lengths.put(taskId, length);
+            totalLength += length;
+        }
+
+        void remove(long taskId) {
+            Term[] terms = termsByTask.remove(taskId);
+            if (terms == null) {
+                return;
+            }
+            for (Term term : terms) {
+                term.remove(taskId);
+            }
+            // Empty terms are rare enough after deletes to leave in the dictionary until a rebuild.
+            totalLength -= lengths.get(taskId, 0);
+            lengths.remove(taskId);
+        }
+
+        Hits search(Set<String> queryTerms, int offset, int limit) {
+            if (queryTerms.isEmpty() || termsByTask.isEmpty()) {
+                return new Hits(List.of(), 0);
+            }
+            Term[] terms = new Term[queryTerms.size()];
+            int i = 0;
+            for (String queryTerm : queryTerms) {
+                Term term = dictionary.get(queryTerm);
+                if (term == null || term.size() == 0) {
+                    return new Hits(List.of(), 0);
+                }
+                terms[i++] = term;
+            }
+            Arrays.sort(terms, Comparator.comparingInt(Term::size));
+
+            int documents = termsByTask.size();
+            double averageLength = (double) totalLength / documents;
+            double[] idf = new double[terms.length];
+            for (int t = 0; t < terms.length; t++) {
+                int df = terms[t].size();
+                idf[t] = Math.log(1 + (documents - df + 0.5) / (df + 0.5));
+            }
+
+            int window = offset + limit;
+            PriorityQueue<Scored> top = new PriorityQueue<>(window + 1, BEST_LAST);
+            int[] total = {0};
+            terms[0].forEach((taskId, firstFrequency) -> {
+                double norm = K1 * (1 - B + B * lengths.get(taskId, 0) / averageLength);
+                double score = idf[0] * firstFrequency * (K1 + 1) / (firstFrequency + norm);
+                for (int t = 1; t < terms.length; t++) {
+                    int frequency = terms[t].get(taskId);
+                    if (frequency == 0) {
+                        return;
+                    }
+                    score += idf[t] * frequency * (K1 + 1) / (frequency + norm);
+                }
+                total[0]++;
+                if (top.size() < window || outranks(score, taskId, top.peek())) {
+                    top.offer(new Scored(taskId, score));
+                    if (top.size() > window) {
+                        top.poll();
+                    }
+                }
+            });
+
+            List<Long> page = new ArrayList<>(Math.min(limit, top.size()));
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(BEST_LAST.reversed());
+            for (int r = offset; r < ranked.size(); r++) {
+                page.add(ranked.get(r).taskId());
+            }
+            return new Hits(page, total[0]);
+        }
+    }
+}
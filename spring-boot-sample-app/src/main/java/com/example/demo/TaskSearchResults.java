@@ -0,0 +1,9 @@
+package com.example.demo;
+
+import java.util.List;
+
+/**
+ * One page of full-text search results, best match first, and how many tasks matched in total.
+ */
+public record TaskSearchResults(List<Task> tasks, int total) {
+}
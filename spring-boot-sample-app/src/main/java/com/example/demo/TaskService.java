@@ -1,41 +1,270 @@
 package com.example.demo;
 
+import com.example.demo.common.TaskFilter;
+import com.example.demo.common.TaskPatch;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "tasks.service", histogram = true)
 public class TaskService {
 
+    static final String TASK_CACHE = "tasks";
+
     @Autowired
     private TaskRepository taskRepository;
 
-    public List<Task> findAllTasks() {
-        return taskRepository.findAll();
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${tasks.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    /**
+     * Returns up to {@code limit} tasks matching {@code filter}, seeking past its cursor
+     * instead of using an OFFSET.
+     */
+    public List<Task> findTasks(TaskFilter filter, int limit) {
+        return taskRepository.findBy(TaskSpecifications.matching(filter),
+                query -> query.sortBy(TaskSpecifications.sortOf(filter)).limit(limit).all());
+    }
+
+    /**
+     * Ranked full-text search over titles and descriptions, or empty while the search index is
+     * still being built.
+     */
+    public Optional<TaskSearchResults> searchTasks(String query, int offset, int limit) {
+        return taskSearchIndex.search(query, offset, limit).map(hits -> {
+            Map<Long, Task> found = taskRepository.findAllById(hits.taskIds()).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+            // Keep the ranking; a task deleted since it was indexed is simply left out.
+            List<Task> tasks = hits.taskIds().stream().map(found::get).filter(Objects::nonNull).toList();
+            return new TaskSearchResults(tasks, hits.total());
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllTasks(Consumer<Task> consumer) {
+        try (Stream<Task> tasks = taskRepository.streamAllOrderedById()) {
+            tasks.forEach(task -> {
+                consumer.accept(task);
+                // Detach so the persistence context does not grow with the table.
+                entityManager.detach(task);
+            });
+        }
     }
 
+    // sync = true loads each id at most once at a time, so an eviction racing a load
+    // waits for it and cannot be overwritten by the value read before the write committed.
+    @Cacheable(cacheNames = TASK_CACHE, sync = true)
     public Optional<Task> findTaskById(Long id) {
         return taskRepository.findById(id);
     }
 
+    // Writes are transactional so each one commits together with its outbox row (TaskChangeLog).
+    @Transactional
+    @CachePut(cacheNames = TASK_CACHE, key = "#result.id")
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        // Ids and versions are assigned here, never taken from the client.
+        task.setId(null);
+        task.setVersion(null);
+        Task created = taskRepository.save(task);
+        taskChangeLog.recordCreated(created);
+        return created;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = TASK_CACHE, key = "#id")
     public Task updateTask(Long id, Task taskDetails) {
+        return updateTask(id, taskDetails, null);
+    }
+
+    /**
+     * Like {@link #updateTask(Long, Task)}, but only if the stored task still has one of
+     * {@code expectedVersions} ({@code null} skips the check).
+     *
+     * @throws TaskNotFoundException if there is no task with that id.
+     * @throws OptimisticLockingFailureException if the task was changed in the meantime.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = TASK_CACHE, key = "#id")
+    public Task updateTask(Long id, Task taskDetails, Set<Long> expectedVersions) {
         Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        if (expectedVersions != null && !expectedVersions.contains(task.getVersion())) {
+            throw new OptimisticLockingFailureException("Task " + id + " is at version " + task.getVersion()
+                    + ", not one of " + expectedVersions);
+        }
 
         task.setTitle(taskDetails.getTitle());
         task.setDescription(taskDetails.getDescription());
         task.setCompleted(taskDetails.isCompleted());
 
-        return taskRepository.save(task);
+        Task updated = taskRepository.save(task);
+        taskChangeLog.recordUpdated(updated);
+        return updated;
+    }
+
+    /**
+     * Updates only the fields present in {@code patch}, in one statement.
+     *
+     * @return {@code false} if there is no task with that id.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = TASK_CACHE, key = "#id")
+    public boolean patchTask(Long id, TaskPatch patch) {
+        if (taskRepository.patch(id, patch) == 0) {
+            return false;
+        }
+        // Recorded from the patch itself; reading the row back would undo the single-statement update.
+        taskChangeLog.recordPatched(id, patch);
+        return true;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = TASK_CACHE, key = "#id")
     public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            taskRepository.delete(task);
+            taskChangeLog.recordDeleted(id);
+        });
+    }
+
+    /**
+     * Inserts the tasks in chunks of {@code tasks.bulk.chunk-size}, one transaction per chunk.
+     * Any ids supplied by the caller are ignored.
+     */
+    public List<BulkResult> createTasks(List<Task> tasks) {
+        return writeInChunks(tasks, task -> null, chunk -> {
+            List<BulkResult> results = new ArrayList<>(chunk.size());
+            for (Task task : chunk) {
+                // Reset in case a failed chunk already assigned them before rolling back.
+                task.setId(null);
+                task.setVersion(null);
+                entityManager.persist(task);
+                taskChangeLog.recordCreated(task);
+                results.add(BulkResult.of(task.getId(), BulkResult.Status.CREATED));
+            }
+            return results;
+        });
+    }
+
+    public List<BulkResult> updateTasks(List<Task> tasks) {
+        return writeInChunks(tasks, Task::getId, chunk -> {
+            List<Long> ids = chunk.stream().map(Task::getId).filter(id -> id != null).toList();
+            Map<Long, Task> existing = taskRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+            List<BulkResult> results = new ArrayList<>(chunk.size());
+            for (Task taskDetails : chunk) {
+                Task task = existing.get(taskDetails.getId());
+                if (task == null) {
+                    results.add(BulkResult.of(taskDetails.getId(), BulkResult.Status.NOT_FOUND));
+                    continue;
+                }
+                task.setTitle(taskDetails.getTitle());
+                task.setDescription(taskDetails.getDescription());
+                task.setCompleted(taskDetails.isCompleted());
+                taskChangeLog.recordUpdated(task);
+                results.add(BulkResult.of(task.getId(), BulkResult.Status.UPDATED));
+            }
+            return results;
+        });
+    }
+
+    public List<BulkResult> deleteTasks(List<Long> ids) {
+        return writeInChunks(ids, Function.identity(), chunk -> {
+            Set<Long> existing = new HashSet<>(taskRepository.findExistingIds(chunk));
+            taskRepository.deleteAllByIdInBatch(existing);
+
+            List<BulkResult> results = new ArrayList<>(chunk.size());
+            for (Long id : chunk) {
+                if (existing.remove(id)) {
+                    taskChangeLog.recordDeleted(id);
+                    results.add(BulkResult.of(id, BulkResult.Status.DELETED));
+                } else {
+                    results.add(BulkResult.of(id, BulkResult.Status.NOT_FOUND));
+                }
+            }
+            return results;
+        });
+    }
+
+    private <T> List<BulkResult> writeInChunks(List<T> items, Function<T, Long> idOf,
+                                               Function<List<T>, List<BulkResult>> writer) {
+        Cache cache = cacheManager.getCache(TASK_CACHE);
+        List<BulkResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += bulkChunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + bulkChunkSize, items.size()));
+            List<BulkResult> chunkResults = writeChunk(chunk, idOf, writer);
+            // Evict after the chunk has committed, mirroring @CacheEvict on the single-row methods.
+            for (BulkResult result : chunkResults) {
+                if (result.id() != null) {
+                    cache.evict(result.id());
+                }
+            }
+            results.addAll(chunkResults);
+        }
+        return results;
+    }
+
+    private <T> List<BulkResult> writeChunk(List<T> chunk, Function<T, Long> idOf,
+                                            Function<List<T>, List<BulkResult>> writer) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<BulkResult> results = writer.apply(chunk);
+                // Flush while still inside the transaction so the JDBC batch runs here, then
+                // clear so the persistence context does not grow across chunks.
+                entityManager.flush();
+                entityManager.clear();
+                return results;
+            });
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                return List.of(BulkResult.failed(idOf.apply(chunk.get(0)), e));
+            }
+            // One bad row rolls back its whole batch; retry row by row to find it.
+            List<BulkResult> results = new ArrayList<>(chunk.size());
+            for (T item : chunk) {
+                results.addAll(writeChunk(List.of(item), idOf, writer));
+            }
+            return results;
+        }
     }
 }
@@ -0,0 +1,64 @@
+package com.example.demo;
+
+import com.example.demo.common.TaskFilter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds the query behind {@code GET /api/tasks} from a {@link TaskFilter}. Each filter
+ * and sort order is backed by one of the indexes declared on {@link Task}, so a page
+ * costs in proportion to its size rather than to the size of the table.
+ */
+final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    static Specification<Task> matching(TaskFilter filter) {
+        return Specification.where(completed(filter.completed()))
+                .and(titleStartsWith(filter.titlePrefix()))
+                .and(after(filter));
+    }
+
+    static Sort sortOf(TaskFilter filter) {
+        return filter.sort() == TaskFilter.SortBy.TITLE
+                ? Sort.by("title", "id")
+                : Sort.by("id");
+    }
+
+    private static Specification<Task> completed(Boolean completed) {
+        return completed == null ? null : (task, query, cb) -> cb.equal(task.get("completed"), completed);
+    }
+
+    // A prefix LIKE with no leading wildcard can be answered by a range scan on the title index.
+    private static Specification<Task> titleStartsWith(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        String pattern = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        return (task, query, cb) -> cb.like(task.get("title"), pattern, '\\');
+    }
+
+    private static Specification<Task> after(TaskFilter filter) {
+        Long afterId = filter.afterId();
+        if (afterId == null) {
+            return null;
+        }
+        if (filter.sort() != TaskFilter.SortBy.TITLE) {
+            return (task, query, cb) -> cb.greaterThan(task.get("id"), afterId);
+        }
+        String afterTitle = filter.afterTitle();
+        if (afterTitle == null) {
+            // Null titles sort first, so the previous page ended among them.
+            return (task, query, cb) -> cb.or(
+                    cb.and(cb.isNull(task.get("title")), cb.greaterThan(task.get("id"), afterId)),
+                    cb.isNotNull(task.get("title")));
+        }
+        // The redundant title >= bound gives the database a start key for the index range scan;
+        // the OR on its own would be evaluated row by row from the beginning of the index.
+        return (task, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(task.get("title"), afterTitle),
+                cb.or(cb.greaterThan(task.get("title"), afterTitle),
+                        cb.and(cb.equal(task.get("title"), afterTitle), cb.greaterThan(task.get("id"), afterId))));
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.demo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Opt-in write-behind for task creation: {@link #submit(Task)} only queues the task, and one
+ * background writer turns whatever has queued up into a single {@link TaskService#createTasks}
+ * call, so a burst of small POSTs becomes a few batched inserts.
+ *
+ * <p>Queued tasks live only in memory until written; a crash loses them. On shutdown the
+ * queue stops accepting and the writer drains what is left for up to
+ * {@code tasks.write-behind.drain-timeout}.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.write-behind.enabled", havingValue = "true")
+public class TaskWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehindQueue.class);
+
+    private record Pending(long ticket, Task task) {
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${tasks.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${tasks.write-behind.max-delay:20ms}")
+    private Duration maxDelay;
+
+    @Value("${tasks.write-behind.drain-timeout:30s}")
+    private Duration drainTimeout;
+
+    @Value("${tasks.bulk.chunk-size:500}")
+    private int batchSize;
+
+    private final AtomicLong nextTicket = new AtomicLong();
+    // Outcomes are kept for a while so clients can look up the id their ticket was given.
+    private final Cache<Long, QueuedTask> tickets = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .maximumSize(1_000_000)
+            .build();
+
+    // Submits hold the read lock from the accepting check through the offer, and close() takes the
+    // write lock to stop accepting, so once the writer sees !accepting no offer is still in flight.
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private BlockingQueue<Pending> queue;
+    private Thread writer;
+    private volatile boolean accepting;
+    private Timer flushTimer;
+    private DistributionSummary batchSizes;
+    private Counter rejected;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("tasks.write-behind.queue.size", queue, BlockingQueue::size)
+                .description("Tasks accepted but not yet written")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("tasks.write-behind.flush")
+                .description("Time to write one coalesced batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("tasks.write-behind.batch.size")
+                .description("Tasks written per batch")
+                .baseUnit("tasks")
+                .register(meterRegistry);
+        rejected = Counter.builder("tasks.write-behind.rejected")
+                .description("Tasks refused because the queue was full")
+                .register(meterRegistry);
+
+        accepting = true;
+        writer = new Thread(this::run, "task-write-behind");
+        writer.start();
+    }
+
+    /**
+     * Queues {@code task} for writing.
+     *
+     * @return its provisional ticket, or empty if the queue is full or shutting down.
+     */
+    public Optional<QueuedTask> submit(Task task) {
+        long ticket = nextTicket.incrementAndGet();
+        boolean offered;
+        acceptLock.readLock().lock();
+        try {
+            offered = accepting && queue.offer(new Pending(ticket, task));
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        if (!offered) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        QueuedTask queued = QueuedTask.queued(ticket);
+        // A fast writer may already have recorded the outcome.
+        tickets.asMap().putIfAbsent(ticket, queued);
+        return Optional.of(queued);
+    }
+
+    public Optional<QueuedTask> status(long ticket) {
+        return Optional.ofNullable(tickets.getIfPresent(ticket));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        acceptLock.writeLock().lock();
+        try {
+            accepting = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        writer.join(drainTimeout.toMillis());
+        if (writer.isAlive()) {
+            log.warn("Gave up draining the write-behind queue with {} tasks left", queue.size());
+            writer.interrupt();
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (accepting || !queue.isEmpty()) {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Linger briefly so tasks arriving right behind the first share its transaction.
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() == batchSize || remaining <= 0 || !accepting) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        List<Task> tasks = batch.stream().map(Pending::task).toList();
+        try {
+            List<BulkResult> results = flushTimer.recordCallable(() -> taskService.createTasks(tasks));
+            for (int i = 0; i < batch.size(); i++) {
+                tickets.put(batch.get(i).ticket(), QueuedTask.of(batch.get(i).ticket(), results.get(i)));
+            }
+        } catch (Exception e) {
+            log.error("Failed to write {} queued tasks", batch.size(), e);
+            for (Pending pending : batch) {
+                tickets.put(pending.ticket(), new QueuedTask(pending.ticket(), QueuedTask.Status.FAILED, null,
+                        e.getMessage()));
+            }
+        }
+    }
+}
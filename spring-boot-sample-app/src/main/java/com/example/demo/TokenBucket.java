@@ -0,0 +1,44 @@
+package com.example.demo;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket holding up to {@code burst} tokens and refilled at {@code rate} tokens per
+ * second, kept as a single {@code long}: the time at which the bucket would be full again (the
+ * "theoretical arrival time" of the generic cell rate algorithm). Taking tokens pushes that time
+ * forward, so one compare-and-set replaces a lock around a token count and a refill timestamp.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final int burst;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double rate, int burst, long now) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / rate));
+        this.burst = burst;
+        this.burstNanos = burst * nanosPerToken;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes {@code tokens} (at most a full bucket's worth) if the bucket holds them.
+     *
+     * @return 0 if they were taken, otherwise the nanoseconds until they will be available.
+     */
+    long tryTake(int tokens, long now) {
+        long cost = Math.min(tokens, burst) * nanosPerToken;
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + cost;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
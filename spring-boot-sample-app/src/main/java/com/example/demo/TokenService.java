@@ -0,0 +1,49 @@
+package com.example.demo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+/**
+ * Issues the signed, stateless tokens handed out by {@code POST /api/auth/login}.
+ */
+@Service
+public class TokenService {
+
+    @Autowired
+    private JwtEncoder jwtEncoder;
+
+    @Value("${tasks.auth.token-ttl:15m}")
+    private Duration tokenTtl;
+
+    public String issueToken(Authentication authentication) {
+        Instant now = Instant.now();
+        // Spring Security maps the scope claim to SCOPE_* authorities when the token comes back.
+        String scope = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(" "));
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(tokenTtl))
+                .claim("scope", scope)
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+
+    public Duration getTokenTtl() {
+        return tokenTtl;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Keeps one client, or too many clients at once, from starving the rest: per-client rate limits
+ * weighted by {@link RequestCost} ({@code tasks.rate-limit.*}), and load shedding when the
+ * connection pool is saturated ({@code tasks.load-shedding.*}). Both apply to {@code /api/**}
+ * only; actuator endpoints stay reachable.
+ */
+@Configuration
+public class TrafficControlConfig implements WebMvcConfigurer {
+
+    // Optional so that @WebMvcTest slices, which have no registry, still start.
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Value("${tasks.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${tasks.rate-limit.rate:100}")
+    private double rate;
+
+    @Value("${tasks.rate-limit.burst:200}")
+    private int burst;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RateLimitInterceptor(rate, burst, meters()))
+                    .addPathPatterns("/api/**");
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "tasks.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<LoadSheddingFilter> loadSheddingFilter(
+            ObjectProvider<DataSource> dataSources,
+            @Value("${tasks.load-shedding.initial-limit:20}") int initialLimit,
+            @Value("${tasks.load-shedding.min-limit:4}") int minLimit,
+            @Value("${tasks.load-shedding.max-limit:200}") int maxLimit) {
+        Set<HikariDataSource> pools = new LinkedHashSet<>();
+        dataSources.forEach(dataSource -> collectPools(dataSource, pools));
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit,
+                () -> connectionWaiters(pools));
+        FilterRegistrationBean<LoadSheddingFilter> registration =
+                new FilterRegistrationBean<>(new LoadSheddingFilter(limit, meters()));
+        registration.addUrlPatterns("/api/*");
+        // Ahead of Spring Security: a shed request should cost as little as possible.
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    // Finds the pools behind proxies and routing, e.g. the primary and replicas of ReplicaRoutingConfig.
+    private static void collectPools(DataSource dataSource, Set<HikariDataSource> pools) {
+        if (dataSource instanceof HikariDataSource pool) {
+            pools.add(pool);
+        } else if (dataSource instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            collectPools(delegating.getTargetDataSource(), pools);
+        } else if (dataSource instanceof AbstractRoutingDataSource routing) {
+            routing.getResolvedDataSources().values().forEach(target -> collectPools(target, pools));
+        }
+    }
+
+    private static int connectionWaiters(Set<HikariDataSource> pools) {
+        int waiters = 0;
+        for (HikariDataSource dataSource : pools) {
+            // Null until the pool has started.
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                waiters += pool.getThreadsAwaitingConnection();
+            }
+        }
+        return waiters;
+    }
+
+    private MeterRegistry meters() {
+        return meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+}
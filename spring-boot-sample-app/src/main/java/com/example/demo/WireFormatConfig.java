@@ -0,0 +1,32 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the JSON data model, chosen with {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile}. They carry the same fields as the JSON, with
+ * numbers and booleans in binary and, for Smile, repeated field names sent once.
+ *
+ * <p>Spring MVC would register both converters by itself once the formats are on the classpath,
+ * but with a default mapper; these are built from Boot's {@link Jackson2ObjectMapperBuilder} so
+ * that {@code spring.jackson.*} settings apply to every format alike.</p>
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,27 @@
+CREATE SEQUENCE task_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task (
+    id          BIGINT NOT NULL PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    completed   BOOLEAN NOT NULL,
+    version     BIGINT
+);
+
+-- One index per filter/sort combination of GET /api/tasks, each ending in id for the keyset cursor.
+CREATE INDEX idx_task_completed_id ON task (completed, id);
+CREATE INDEX idx_task_title_id ON task (title, id);
+CREATE INDEX idx_task_completed_title_id ON task (completed, title, id);
+
+CREATE SEQUENCE task_change_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_change (
+    seq         BIGINT NOT NULL PRIMARY KEY,
+    type        ENUM('CREATED', 'DELETED', 'UPDATED'),
+    task_id     BIGINT,
+    changed_at  TIMESTAMP(6) WITH TIME ZONE,
+    version     BIGINT,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    completed   BOOLEAN
+);
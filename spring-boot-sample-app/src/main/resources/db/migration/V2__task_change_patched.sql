@@ -0,0 +1,2 @@
+-- PATCH records only the fields it set, without re-reading the row.
+ALTER TABLE task_change ALTER COLUMN type ENUM('CREATED', 'DELETED', 'PATCHED', 'UPDATED');
@@ -0,0 +1,5 @@
+-- Both apps always write a version; rows inserted behind their back start at 0 instead of NULL,
+-- which the optimistic-lock checks cannot compare.
+UPDATE task SET version = 0 WHERE version IS NULL;
+ALTER TABLE task ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE task ALTER COLUMN version SET NOT NULL;
@@ -0,0 +1,61 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    @Test
+    public void testAdmitsUpToTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(3, 1, 10, () -> 0);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(3, limit.inFlight());
+
+        limit.release();
+        assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    public void testShrinksWhileConnectionsAreAwaitedAndRecoversAfter() {
+        AtomicInteger waiters = new AtomicInteger(5);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 40, waiters::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release();
+        }
+        assertEquals(4, limit.limit());
+
+        waiters.set(0);
+        for (int round = 0; round < 200; round++) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limit.release();
+            }
+        }
+        assertEquals(40, limit.limit());
+    }
+
+    @Test
+    public void testDoesNotGrowWhileMostlyIdle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 40, () -> 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release();
+        }
+        assertEquals(20, limit.limit());
+    }
+}
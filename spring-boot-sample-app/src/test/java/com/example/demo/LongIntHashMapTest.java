@@ -0,0 +1,40 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void testMatchesHashMapUnderRandomPutsAndRemoves() {
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            // A small key range forces collisions, long probe runs and removals inside them.
+            long key = random.nextInt(5_000) - 10;
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -10; key < 5_000; key++) {
+            assertEquals(expected.getOrDefault(key, -1), map.get(key, -1), "key " + key);
+            assertEquals(expected.containsKey(key), map.containsKey(key), "key " + key);
+        }
+        Map<Long, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+    }
+}
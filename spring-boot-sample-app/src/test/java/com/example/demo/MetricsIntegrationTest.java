@@ -0,0 +1,51 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Scrapes {@code /actuator/prometheus} after a few requests, with no external services.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    public void testPrometheusEndpointExposesLatencyQueryAndPoolMetrics() throws Exception {
+        Task task = taskService.createTask(new Task("Observed", "Description", false));
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks/" + task.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/tasks/{id}\"")))
+                .andExpect(content().string(containsString(
+                        "tasks_controller_seconds_bucket{class=\"com.example.demo.TaskController\",exception=\"none\",method=\"getAllTasks\"")))
+                .andExpect(content().string(containsString(
+                        "tasks_service_seconds_bucket{class=\"com.example.demo.TaskService\",exception=\"none\",method=\"findTasks\"")))
+                .andExpect(content().string(containsString(
+                        "http_server_requests_queries_count{method=\"GET\",uri=\"/api/tasks\"} 1")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"tasks\"")))
+                .andExpect(content().string(containsString("tasks_load_shedding_in_flight 0.0")))
+                .andExpect(content().string(containsString("tasks_rate_limit_rejected_total 0.0")));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = TaskController.class, properties = {
+        // Slow enough that nothing refills during the test.
+        "tasks.rate-limit.rate=0.01",
+        "tasks.rate-limit.burst=10"
+})
+@Import(SecurityConfig.class)
+public class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TaskService taskService;
+
+    @Test
+    public void testExpensiveRequestsEmptyTheBucketSooner() throws Exception {
+        given(taskService.findTasks(any(), anyInt())).willReturn(List.of());
+        given(taskService.findTaskById(any())).willReturn(Optional.empty());
+
+        // A page of tasks costs 5 tokens, a single task 1.
+        mockMvc.perform(get("/api/tasks").with(user("greedy"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks").with(user("greedy"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks").with(user("greedy")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/api/tasks/1").with(user("greedy"))).andExpect(status().isTooManyRequests());
+
+        // Other clients have buckets of their own.
+        mockMvc.perform(get("/api/tasks").with(user("patient"))).andExpect(status().isOk());
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isOk());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamedResponseIsChargedOnce() throws Exception {
+        willAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(0);
+            consumer.accept(new Task("Task 1", "Description 1", false));
+            return null;
+        }).given(taskService).streamAllTasks(any(Consumer.class));
+        given(taskService.findTaskById(any())).willReturn(Optional.empty());
+        RequestPostProcessor streamer = request -> {
+            request.setRemoteAddr("10.0.0.18");
+            return request;
+        };
+
+        // The stream costs the whole bucket of 10; the ASYNC dispatch that writes it must not pay again.
+        MvcResult result = mockMvc.perform(get("/api/tasks").accept(TaskController.APPLICATION_NDJSON_VALUE).with(streamer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.RETRY_AFTER))
+                .andExpect(content().string(containsString("Task 1")));
+
+        mockMvc.perform(get("/api/tasks/1").with(streamer)).andExpect(status().isTooManyRequests());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo;
+
+import com.jayway.jsonpath.JsonPath;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory H2 databases stand in for a primary and its replica. Nothing replicates between
+ * them, which makes it visible where each read went: a task written to the primary can only be
+ * read back from the primary, until the test copies it to the replica itself.
+ */
+@SpringBootTest(properties = {
+        "tasks.datasource.replica-urls=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "tasks.datasource.read-your-writes-window=1s"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeAll
+    public static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @Test
+    public void testWriterReadsPrimaryDuringWindowOthersReadReplica() throws Exception {
+        String json = "{\"title\":\"Routed\",\"description\":\"Written to the primary\",\"completed\":false}";
+        String response = mockMvc.perform(post("/api/tasks").with(jwt().jwt(token -> token.subject("writer")))
+                        .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        int id = JsonPath.read(response, "$.id");
+
+        mockMvc.perform(get("/api/tasks?limit=1000").with(jwt().jwt(token -> token.subject("writer"))))
+                .andExpect(jsonPath("$[*].id", hasItem(id)));
+        mockMvc.perform(get("/api/tasks?limit=1000").with(jwt().jwt(token -> token.subject("reader"))))
+                .andExpect(jsonPath("$[*].id", not(hasItem(id))));
+
+        Thread.sleep(1500);
+        mockMvc.perform(get("/api/tasks?limit=1000").with(jwt().jwt(token -> token.subject("writer"))))
+                .andExpect(jsonPath("$[*].id", not(hasItem(id))));
+
+        copyToReplica(id);
+        mockMvc.perform(get("/api/tasks?limit=1000").with(jwt().jwt(token -> token.subject("reader"))))
+                .andExpect(jsonPath("$[*].id", hasItem(id)));
+    }
+
+    @Test
+    public void testTaskCachedFromLaggingReplicaIsEvictedAfterWindow() throws Exception {
+        Long id = taskService.createTasks(List.of(new Task("Cached", "From a lagging replica", false)))
+                .get(0).id();
+
+        // Another thread is another client: it misses, reads the replica and caches the miss.
+        assertFalse(onOtherThread(() -> taskService.findTaskById(id)).isPresent());
+        copyToReplica(id);
+        assertFalse(onOtherThread(() -> taskService.findTaskById(id)).isPresent());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (onOtherThread(() -> taskService.findTaskById(id)).isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertTrue(onOtherThread(() -> taskService.findTaskById(id)).isPresent());
+    }
+
+    private static void copyToReplica(long id) {
+        // What replication would do, without the lag.
+        replica.update("insert into task (id, title, description, completed, version) values (?, ?, ?, ?, ?)",
+                id, "Replicated", "Copied by the test", false, 0);
+    }
+
+    private static <T> Optional<T> onOtherThread(Supplier<Optional<T>> read) {
+        return CompletableFuture.supplyAsync(read, runnable -> new Thread(runnable).start()).join();
+    }
+}
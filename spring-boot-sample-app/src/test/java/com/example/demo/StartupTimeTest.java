@@ -0,0 +1,90 @@
+package com.example.demo;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cold-starts {@link DemoApplication} with the {@code prod} profile in a fresh JVM, against a
+ * database migrated beforehand, and fails if it takes longer than the budget to be ready.
+ *
+ * <p>The budget is the JVM uptime Spring Boot reports at "Started DemoApplication", 15 s unless
+ * set for the build machine with {@code -Dstartup.budget}. Excluded from the default build, since
+ * it forks a JVM; run it with {@code mvn test -Pstartup -Dstartup.budget=10s}.</p>
+ */
+@Tag("startup")
+public class StartupTimeTest {
+
+    private static final Duration BUDGET = Duration.parse("PT" + System.getProperty("startup.budget", "15s"));
+    private static final Pattern STARTED = Pattern.compile(
+            "Started DemoApplication in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    public void testProdProfileStartsWithinBudget() throws Exception {
+        String url = "jdbc:h2:file:" + dataDir.resolve("tasks");
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+
+        List<String> command = List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                DemoApplication.class.getName(),
+                "--spring.profiles.active=prod",
+                "--spring.datasource.url=" + url,
+                "--server.port=0",
+                "--management.server.port=0");
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            CompletableFuture<Matcher> started = CompletableFuture.supplyAsync(() -> awaitStarted(process));
+            Matcher matcher = started.get(BUDGET.toMillis() * 3, TimeUnit.MILLISECONDS);
+            assertNotNull(matcher, "DemoApplication exited before it started");
+
+            double seconds = Double.parseDouble(matcher.group(2));
+            System.out.printf("Cold start with the prod profile: %.2f s (context %.2f s), budget %d s%n",
+                    seconds, Double.parseDouble(matcher.group(1)), BUDGET.toSeconds());
+            assertTrue(seconds * 1000 <= BUDGET.toMillis(),
+                    () -> "Cold start took " + seconds + " s, over the " + BUDGET.toSeconds() + " s budget");
+        } finally {
+            process.destroy();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Matcher awaitStarted(Process process) {
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    return matcher;
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        output.forEach(System.out::println);
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures authenticated {@code POST /api/tasks} throughput with HTTP Basic (a BCrypt check
+ * on every request) and with a bearer token from {@code /api/auth/login}.
+ *
+ * <p>Excluded from the default build; run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "tasks.auth.http-basic.enabled=true",
+        // Measures authentication alone, not the per-client limits.
+        "tasks.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+public class TaskAuthBenchmark {
+
+    private static final int REQUESTS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void compareBasicAuthWithBearerToken() throws Exception {
+        String basic = "Basic " + Base64.getEncoder()
+                .encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+        String response = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"user\",\"password\":\"password\"}"))
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + objectMapper.readTree(response).get("token").asText();
+
+        // Warm up both paths before measuring.
+        postTasks(basic, 50);
+        postTasks(bearer, 50);
+
+        long basicNanos = postTasks(basic, REQUESTS);
+        long bearerNanos = postTasks(bearer, REQUESTS);
+
+        System.out.printf("Authenticated POST /api/tasks, %d requests each%n", REQUESTS);
+        System.out.printf("  HTTP Basic (BCrypt): %,10.0f req/s%n", REQUESTS / (basicNanos / 1e9));
+        System.out.printf("  Bearer token:        %,10.0f req/s%n", REQUESTS / (bearerNanos / 1e9));
+    }
+
+    private long postTasks(String authorization, int count) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            MockHttpServletRequestBuilder request = post("/api/tasks")
+                    .header(HttpHeaders.AUTHORIZATION, authorization)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\":\"Task " + i + "\",\"description\":\"Benchmark\"}");
+            mockMvc.perform(request).andExpect(status().isOk());
+        }
+        return System.nanoTime() - start;
+    }
+}
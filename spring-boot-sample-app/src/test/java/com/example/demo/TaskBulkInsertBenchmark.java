@@ -0,0 +1,69 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the one-transaction-per-row {@code createTask} path with the chunked,
+ * JDBC-batched {@code createTasks} path against the embedded database.
+ *
+ * <p>Excluded from the default build; run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class TaskBulkInsertBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    public void compareRowByRowWithBatchedInsert() {
+        // Warm up both paths so JIT compilation is not part of the measurement.
+        insertRowByRow(2_000);
+        taskService.createTasks(newTasks(2_000));
+        taskRepository.deleteAllInBatch();
+
+        long rowByRowNanos = insertRowByRow(ROWS);
+        assertEquals(ROWS, taskRepository.count());
+        taskRepository.deleteAllInBatch();
+
+        long start = System.nanoTime();
+        List<BulkResult> results = taskService.createTasks(newTasks(ROWS));
+        long batchedNanos = System.nanoTime() - start;
+        assertEquals(ROWS, results.size());
+        assertEquals(ROWS, taskRepository.count());
+
+        System.out.printf("Inserted %,d tasks%n", ROWS);
+        System.out.printf("  row by row: %,8d ms (%,10.0f rows/s)%n", rowByRowNanos / 1_000_000, ROWS / (rowByRowNanos / 1e9));
+        System.out.printf("  batched:    %,8d ms (%,10.0f rows/s)%n", batchedNanos / 1_000_000, ROWS / (batchedNanos / 1e9));
+    }
+
+    private long insertRowByRow(int rows) {
+        List<Task> tasks = newTasks(rows);
+        long start = System.nanoTime();
+        for (Task task : tasks) {
+            taskService.createTask(task);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<Task> newTasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task("Task " + i, "Imported task number " + i, i % 2 == 0));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo;
+
+import com.example.demo.common.TaskPatch;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+public class TaskCacheIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @MockitoSpyBean
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    public void clearCache() {
+        cacheManager.getCache(TaskService.TASK_CACHE).clear();
+    }
+
+    @Test
+    public void testHotReadsSkipTheDatabase() {
+        Task task = taskService.createTask(new Task("Cached", "Description", false));
+        clearInvocations(taskRepository);
+        CacheStats before = stats();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Cached", taskService.findTaskById(task.getId()).get().getTitle());
+        }
+
+        verify(taskRepository, never()).findById(task.getId());
+        assertEquals(10, stats().minus(before).hitCount());
+    }
+
+    @Test
+    public void testMissIsLoadedOnceThenServedFromCache() {
+        Task task = taskService.createTask(new Task("Cold", "Description", false));
+        clearCache();
+        clearInvocations(taskRepository);
+
+        taskService.findTaskById(task.getId());
+        taskService.findTaskById(task.getId());
+
+        verify(taskRepository, times(1)).findById(task.getId());
+    }
+
+    @Test
+    public void testCreateReplacesCachedMiss() {
+        Long nextId = taskService.createTask(new Task("Probe", "Description", false)).getId() + 1;
+        assertFalse(taskService.findTaskById(nextId).isPresent());
+
+        Task created = taskService.createTask(new Task("New", "Description", false));
+
+        assertEquals(nextId, created.getId());
+        assertEquals("New", taskService.findTaskById(nextId).get().getTitle());
+    }
+
+    @Test
+    public void testDeleteAndBulkWritesInvalidate() {
+        Task deleted = taskService.createTask(new Task("Deleted", "Description", false));
+        Task bulkUpdated = taskService.createTask(new Task("Before", "Description", false));
+        taskService.findTaskById(deleted.getId());
+        taskService.findTaskById(bulkUpdated.getId());
+
+        taskService.deleteTask(deleted.getId());
+        Task details = new Task("After", "Description", true);
+        details.setId(bulkUpdated.getId());
+        taskService.updateTasks(List.of(details));
+
+        assertFalse(taskService.findTaskById(deleted.getId()).isPresent());
+        assertEquals("After", taskService.findTaskById(bulkUpdated.getId()).get().getTitle());
+    }
+
+    @Test
+    public void testPatchInvalidates() {
+        Task task = taskService.createTask(new Task("Patched", "Description", false));
+        taskService.findTaskById(task.getId());
+
+        assertTrue(taskService.patchTask(task.getId(), new TaskPatch(null, null, true)));
+
+        Task reloaded = taskService.findTaskById(task.getId()).get();
+        assertTrue(reloaded.isCompleted());
+        assertEquals("Patched", reloaded.getTitle());
+        assertFalse(taskService.patchTask(-1L, new TaskPatch(null, null, true)));
+    }
+
+    @Test
+    public void testNoStaleReadAfterUpdateUnderConcurrentReaders() throws Exception {
+        Long id = taskService.createTask(new Task("v0", "Description", false)).getId();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            readers.submit(() -> {
+                while (running.get()) {
+                    taskService.findTaskById(id);
+                }
+            });
+        }
+
+        try {
+            for (int version = 1; version <= 100; version++) {
+                taskService.updateTask(id, new Task("v" + version, "Description", false));
+                assertEquals("v" + version, taskService.findTaskById(id).get().getTitle());
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+            assertTrue(readers.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private CacheStats stats() {
+        CaffeineCache cache = (CaffeineCache) cacheManager.getCache(TaskService.TASK_CACHE);
+        return cache.getNativeCache().stats();
+    }
+}
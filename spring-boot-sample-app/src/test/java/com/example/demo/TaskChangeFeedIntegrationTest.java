@@ -0,0 +1,192 @@
+package com.example.demo;
+
+import com.example.demo.common.TaskPatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TaskChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskChangeLog taskChangeLog;
+
+    @Autowired
+    private TaskChangeStream taskChangeStream;
+
+    @Test
+    public void testEveryWriteAppendsOneChangeInOrder() throws Exception {
+        long since = taskChangeLog.committedUpTo();
+
+        Task task = taskService.createTask(new Task("Tracked", "Description", false));
+        taskService.updateTask(task.getId(), new Task("Renamed", "Description", false));
+        taskService.patchTask(task.getId(), new TaskPatch(null, null, true));
+        taskService.deleteTask(task.getId());
+        taskService.deleteTask(task.getId());
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[*].taskId", everyItem(is(task.getId().intValue()))))
+                .andExpect(jsonPath("$[0].type").value("CREATED"))
+                .andExpect(jsonPath("$[0].version").value(0))
+                .andExpect(jsonPath("$[1].type").value("UPDATED"))
+                .andExpect(jsonPath("$[1].title").value("Renamed"))
+                .andExpect(jsonPath("$[1].version").value(1))
+                .andExpect(jsonPath("$[2].type").value("PATCHED"))
+                .andExpect(jsonPath("$[2].completed").value(true))
+                .andExpect(jsonPath("$[2].title").doesNotExist())
+                .andExpect(jsonPath("$[2].version").doesNotExist())
+                .andExpect(jsonPath("$[3].type").value("DELETED"))
+                .andExpect(jsonPath("$[3].title").doesNotExist());
+    }
+
+    @Test
+    public void testRolledBackWriteLeavesNoChange() {
+        Task task = taskService.createTask(new Task("Guarded", "Description", false));
+        long since = taskChangeLog.committedUpTo();
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> taskService.updateTask(task.getId(), new Task("Stale", "Description", true), Set.of(41L)));
+
+        assertTrue(taskChangeLog.changesSince(since, 10).isEmpty());
+    }
+
+    @Test
+    public void testBulkWritesAreRecordedAndPaged() throws Exception {
+        long since = taskChangeLog.committedUpTo();
+
+        List<BulkResult> created = taskService.createTasks(List.of(
+                new Task("Bulk 1", null, false), new Task("Bulk 2", null, false), new Task("Bulk 3", null, false)));
+        taskService.deleteTasks(created.stream().map(BulkResult::id).toList());
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", String.valueOf(since)).param("limit", "4")
+                        .queryParam("client", "feed 100%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("limit=4")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("client=feed%20100%25&")));
+        List<TaskChange> changes = taskChangeLog.changesSince(since, 10);
+        assertEquals(6, changes.size());
+        assertEquals(List.of(TaskChange.Type.CREATED, TaskChange.Type.CREATED, TaskChange.Type.CREATED,
+                        TaskChange.Type.DELETED, TaskChange.Type.DELETED, TaskChange.Type.DELETED),
+                changes.stream().map(TaskChange::getType).toList());
+    }
+
+    @Test
+    public void testStreamReplaysThenPushesNewChanges() throws Exception {
+        Task before = taskService.createTask(new Task("Before subscribing", "Description", false));
+        long since = taskChangeLog.committedUpTo() - 1;
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/changes")
+                        .param("since", String.valueOf(since))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        awaitContent(result, "\"taskId\":" + before.getId());
+
+        Task after = taskService.createTask(new Task("After subscribing", "Description", false));
+        String events = awaitContent(result, "\"taskId\":" + after.getId());
+
+        assertTrue(events.contains("event:task-change"));
+        assertTrue(events.indexOf("Before subscribing") < events.indexOf("After subscribing"));
+    }
+
+    @Test
+    public void testStalledSubscriberDoesNotHoldUpOthersAndIsDroppedOnceBehind() throws Exception {
+        CountDownLatch unstall = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        // A client that stops reading: its first write blocks until the end of the test.
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                try {
+                    unstall.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.send(builder);
+            }
+
+            @Override
+            public void complete() {
+                completed.countDown();
+                super.complete();
+            }
+        };
+        taskChangeStream.subscribe(stalled, null);
+        MvcResult healthy = mockMvc.perform(get("/api/tasks/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        try {
+            // One dispatch per task, more than the stalled client's queue holds.
+            for (int i = 0; i < 40; i++) {
+                Task task = taskService.createTask(new Task("Stalled " + i, "Description", false));
+                awaitContent(healthy, "\"taskId\":" + task.getId());
+            }
+            assertTrue(completed.await(5, TimeUnit.SECONDS), "The stalled stream was never completed");
+        } finally {
+            unstall.countDown();
+        }
+    }
+
+    @Test
+    public void testStreamsBeyondTheLimitAreRefused() throws Exception {
+        int maxSubscribers = (int) ReflectionTestUtils.getField(taskChangeStream, "maxSubscribers");
+        ReflectionTestUtils.setField(taskChangeStream, "maxSubscribers", taskChangeStream.subscriberCount());
+        try {
+            mockMvc.perform(get("/api/tasks/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            ReflectionTestUtils.setField(taskChangeStream, "maxSubscribers", maxSubscribers);
+        }
+        mockMvc.perform(get("/api/tasks/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), () -> "Stream never delivered " + expected);
+        return content;
+    }
+}
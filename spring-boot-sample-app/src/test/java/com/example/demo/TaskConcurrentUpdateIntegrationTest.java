@@ -0,0 +1,69 @@
+package com.example.demo;
+
+import com.example.demo.common.ETags;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TaskConcurrentUpdateIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @MockitoSpyBean
+    private TaskChangeLog taskChangeLog;
+
+    @Test
+    public void testLoserOfConcurrentUpdatesGetsPreconditionFailed() throws Exception {
+        Task task = taskService.createTask(new Task("Contended", "Description", false));
+        AtomicBoolean raced = new AtomicBoolean();
+        // Once the request has read version 0 and passed the If-Match check, another update
+        // commits before the request writes, so only its versioned UPDATE can catch the conflict.
+        willAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                ExecutorService winner = Executors.newSingleThreadExecutor();
+                try {
+                    winner.submit(() -> taskService.updateTask(task.getId(),
+                            new Task("Winner", "Description", false), Set.of(0L))).get();
+                } finally {
+                    winner.shutdown();
+                }
+            }
+            return invocation.callRealMethod();
+        }).given(taskChangeLog).recordUpdated(any(Task.class));
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                        .with(user("loser"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, ETags.of(0L))
+                        .content("{\"title\":\"Loser\",\"description\":\"Description\",\"completed\":false}"))
+                .andExpect(status().isPreconditionFailed());
+
+        assertEquals("Winner", taskRepository.findById(task.getId()).get().getTitle());
+    }
+}
@@ -1,50 +1,230 @@
 package com.example.demo;
 
+import com.example.demo.common.TaskControllerContractTest;
+import com.example.demo.common.TaskFilter;
+import com.example.demo.common.TaskPatch;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.client.MockMvcWebTestClient;
 
-import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+/**
+ * The shared {@link TaskControllerContractTest} scenarios, plus the endpoints only the servlet app
+ * has: CBOR, search, write-behind and bulk writes.
+ */
 @WebMvcTest(TaskController.class)
-public class TaskControllerTest {
+@Import({SecurityConfig.class, WireFormatConfig.class})
+public class TaskControllerTest extends TaskControllerContractTest {
 
     @Autowired
     private MockMvc mockMvc;
 
-    @MockBean
+    @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskWriteBehindQueue writeBehindQueue;
+
+    @Override
+    protected WebTestClient webTestClient() {
+        return MockMvcWebTestClient.bindTo(mockMvc).build();
+    }
+
+    @Override
+    protected String linkBase() {
+        return "http://localhost";
+    }
+
+    @Override
+    protected void givenPage(TaskFilter filter, int limit, List<TaskData> tasks) {
+        given(taskService.findTasks(filter, limit)).willReturn(tasks.stream().map(TaskControllerTest::toTask).toList());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void givenAllTasks(List<TaskData> tasks) {
+        willAnswer(invocation -> {
+            Consumer<Task> consumer = invocation.getArgument(0);
+            tasks.stream().map(TaskControllerTest::toTask).forEach(consumer);
+            return null;
+        }).given(taskService).streamAllTasks(any(Consumer.class));
+    }
+
+    @Override
+    protected void givenTask(Long id, TaskData task) {
+        given(taskService.findTaskById(id)).willReturn(Optional.of(toTask(task)));
+    }
+
+    @Override
+    protected void givenUpdate(Long id, Set<Long> expectedVersions, TaskData updated) {
+        given(taskService.updateTask(eq(id), any(Task.class), eq(expectedVersions))).willReturn(toTask(updated));
+    }
+
+    @Override
+    protected void givenStaleUpdate(Long id, Set<Long> expectedVersions) {
+        willThrow(new OptimisticLockingFailureException("stale"))
+                .given(taskService).updateTask(eq(id), any(Task.class), eq(expectedVersions));
+    }
+
+    @Override
+    protected void givenMissingUpdate(Long id) {
+        willThrow(new TaskNotFoundException(id))
+                .given(taskService).updateTask(eq(id), any(Task.class), isNull());
+    }
+
+    @Override
+    protected void givenPatch(Long id, ArgumentMatcher<TaskPatch> patch, boolean found) {
+        given(taskService.patchTask(eq(id), argThat(patch))).willReturn(found);
+    }
+
+    @Test
+    public void testGetAllTasksAsCbor() throws Exception {
+        Task task = new Task("Task 1", "Description 1", false);
+        task.setId(3L);
+        given(taskService.findTasks(TaskFilter.firstPage(), 100)).willReturn(List.of(task));
+
+        byte[] cbor = mockMvc.perform(get("/api/tasks")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Task[] decoded = new CBORMapper().readValue(cbor, Task[].class);
+        assertEquals(1, decoded.length);
+        assertEquals(3L, decoded[0].getId());
+        assertEquals("Task 1", decoded[0].getTitle());
+    }
+
+    @Test
+    public void testSearchReturnsRankedPageWithTotalAndNextLink() throws Exception {
+        Task best = new Task("Write docs", "Docs for the search endpoint", false);
+        Task other = new Task("Review", "Write the docs review", false);
+        given(taskService.searchTasks("write docs", 0, 2))
+                .willReturn(Optional.of(new TaskSearchResults(List.of(best, other), 5)));
+
+        mockMvc.perform(get("/api/tasks/search").queryParam("q", "write docs").queryParam("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "5"))
+                .andExpect(header().string(HttpHeaders.LINK,
+                        "<http://localhost/api/tasks/search?q=write%20docs&offset=2&limit=2>; rel=\"next\""))
+                .andExpect(jsonPath("$[0].title").value("Write docs"))
+                .andExpect(jsonPath("$[1].title").value("Review"));
+    }
+
+    @Test
+    public void testSearchWhileIndexIsBuildingReturnsServiceUnavailable() throws Exception {
+        given(taskService.searchTasks("docs", 0, 20)).willReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "docs"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(get("/api/tasks/search").param("q", "docs").param("offset", "9990").param("limit", "20"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/search").param("q", "docs").param("offset", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    public void testRespondAsyncQueuesTaskAndReturnsTicket() throws Exception {
+        given(writeBehindQueue.submit(any(Task.class))).willReturn(Optional.of(QueuedTask.queued(7L)));
+
+        mockMvc.perform(post("/api/tasks")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Later\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/tasks/queued/7"))
+                .andExpect(jsonPath("$.ticket").value(7))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+        verify(taskService, never()).createTask(any(Task.class));
+    }
+
     @Test
-    public void testGetAllTasks() throws Exception {
-        Task task1 = new Task("Task 1", "Description 1", false);
-        Task task2 = new Task("Task 2", "Description 2", true);
-        given(taskService.findAllTasks()).willReturn(Arrays.asList(task1, task2));
+    @WithMockUser
+    public void testRespondAsyncWithFullQueueReturnsTooManyRequests() throws Exception {
+        given(writeBehindQueue.submit(any(Task.class))).willReturn(Optional.empty());
 
-        mockMvc.perform(get("/api/tasks")
-                .contentType(MediaType.APPLICATION_JSON))
+        mockMvc.perform(post("/api/tasks")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Later\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    @WithMockUser
+    @SuppressWarnings("unchecked")
+    public void testBulkCreateTasksFromNdjson() throws Exception {
+        given(taskService.createTasks(any(List.class))).willAnswer(invocation -> {
+            List<Task> tasks = invocation.getArgument(0);
+            return tasks.stream()
+                    .map(task -> BulkResult.of((long) task.getTitle().length(), BulkResult.Status.CREATED))
+                    .toList();
+        });
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                .contentType(TaskController.APPLICATION_NDJSON_VALUE)
+                .content("{\"title\":\"A\"}\n{\"title\":\"BB\"}\n"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].title").value("Task 1"))
-                .andExpect(jsonPath("$[1].title").value("Task 2"));
+                .andExpect(content().contentType(TaskController.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(
+                        "{\"id\":1,\"status\":\"CREATED\"}\n{\"id\":2,\"status\":\"CREATED\"}\n"));
     }
 
     @Test
-    public void testGetTaskById() throws Exception {
-        Task task = new Task("Test Task", "Test Description", false);
-        given(taskService.findTaskById(1L)).willReturn(Optional.of(task));
+    @WithMockUser
+    public void testBulkDeleteTasksReportsPerItemResult() throws Exception {
+        given(taskService.deleteTasks(List.of(1L, 2L))).willReturn(List.of(
+                BulkResult.of(1L, BulkResult.Status.DELETED),
+                BulkResult.of(2L, BulkResult.Status.NOT_FOUND)));
 
-        mockMvc.perform(get("/api/tasks/1")
-                .contentType(MediaType.APPLICATION_JSON))
+        mockMvc.perform(delete("/api/tasks/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2]"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.title").value("Test Task"));
+                .andExpect(jsonPath("$[0].status").value("DELETED"))
+                .andExpect(jsonPath("$[1].status").value("NOT_FOUND"));
+    }
+
+    private static Task toTask(TaskData data) {
+        Task task = new Task(data.title(), data.description(), data.completed());
+        task.setId(data.id());
+        task.setVersion(data.version());
+        return task;
     }
 }
@@ -0,0 +1,168 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Starts the application once with the default platform thread pool and once with virtual
+ * threads, and drives each with closed-loop HTTP clients reading pages of {@code /api/tasks}
+ * (a JDBC round trip per request). Prints throughput and p50/p99 latency per mode and
+ * client count.
+ *
+ * <p>Excluded from the default build. Virtual threads need Java 21, so run it with
+ * {@code mvn test -Pvirtual-threads,loadtest}; on older JVMs only the platform mode runs.
+ * Tune with {@code -Dloadtest.clients=1000,5000,10000} and {@code -Dloadtest.seconds=10}. Both modes
+ * use the same {@value #POOL_SIZE}-connection Hikari pool.</p>
+ */
+@Tag("loadtest")
+public class TaskLoadTest {
+
+    private static final int TASKS = 10_000;
+    private static final int POOL_SIZE = 32;
+
+    private final int[] clientCounts = parseInts(System.getProperty("loadtest.clients", "1000,10000"));
+    private final int seconds = Integer.getInteger("loadtest.seconds", 10);
+
+    @Test
+    public void comparePlatformAndVirtualThreads() throws Exception {
+        List<String> rows = new ArrayList<>();
+        rows.addAll(run("platform", false));
+        if (Runtime.version().feature() >= 21) {
+            rows.addAll(run("virtual", true));
+        } else {
+            System.out.println("Java " + Runtime.version().feature() + ": skipping the virtual thread mode");
+        }
+
+        System.out.printf("%n%-9s %8s %12s %10s %10s %8s%n", "threads", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+        rows.forEach(System.out::println);
+    }
+
+    private List<String> run(String mode, boolean virtualThreads) throws Exception {
+        List<String> rows = new ArrayList<>();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class)
+                .profiles(virtualThreads ? "virtual-threads" : "default")
+                // Arguments, not default properties: application.properties and the profile would
+                // override those.
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.max-connections=20000",
+                        "--server.tomcat.accept-count=1000",
+                        // The same connection pool in both modes, so only the threading differs.
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                        "--spring.datasource.hikari.connection-timeout=2000",
+                        // Every client shares one address, and the point is to queue, not to shed.
+                        "--tasks.rate-limit.enabled=false",
+                        "--tasks.load-shedding.enabled=false",
+                        "--logging.level.root=WARN")) {
+            seed(context.getBean(TaskService.class));
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            for (int clients : clientCounts) {
+                drive(port, clients, 2); // warm up the JIT, connection pool and sockets
+                Result result = drive(port, clients, seconds);
+                rows.add(String.format("%-9s %8d %12.0f %10.1f %10.1f %8d", mode, clients,
+                        result.requests.get() / (double) seconds, result.percentileMillis(0.50),
+                        result.percentileMillis(0.99), result.errors.get()));
+            }
+        }
+        return rows;
+    }
+
+    private static void seed(TaskService taskService) {
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Task("Task " + i, "Load test task " + i, i % 2 == 0));
+        }
+        taskService.createTasks(tasks);
+    }
+
+    /**
+     * Runs {@code clients} closed-loop clients for {@code seconds}: each one sends its next
+     * request as soon as the previous response arrives. Uses the async HTTP client so the
+     * load generator itself does not need a thread per client.
+     */
+    private static Result drive(int port, int clients, int seconds) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        Result result = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            sendNext(http, port, deadline, result, done);
+        }
+        done.await(seconds + 60L, TimeUnit.SECONDS);
+        return result;
+    }
+
+    private static void sendNext(HttpClient http, int port, long deadline, Result result, CountDownLatch done) {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+        long after = ThreadLocalRandom.current().nextLong(TASKS);
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/api/tasks?limit=20&after=" + after))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long start = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure == null && response.statusCode() == 200) {
+                result.record(System.nanoTime() - start);
+            } else {
+                result.errors.incrementAndGet();
+            }
+            sendNext(http, port, deadline, result, done);
+        });
+    }
+
+    private static int[] parseInts(String csv) {
+        String[] parts = csv.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+
+    /** Lock-free latency histogram with 100 microsecond buckets up to 60 seconds. */
+    private static final class Result {
+
+        private static final long BUCKET_NANOS = 100_000;
+        private final AtomicLongArray buckets = new AtomicLongArray(600_000);
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos) {
+            buckets.incrementAndGet((int) Math.min(nanos / BUCKET_NANOS, buckets.length() - 1));
+            requests.incrementAndGet();
+        }
+
+        double percentileMillis(double percentile) {
+            long target = (long) Math.ceil(requests.get() * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    return (i + 1) * BUCKET_NANOS / 1e6;
+                }
+            }
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.demo;
+
+import com.example.demo.common.TaskFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads 1M tasks and checks that every filter/sort combination of {@code GET /api/tasks}
+ * is answered from one of the indexes on {@link Task}, printing the time per page. The plan
+ * checked is that of the statement {@link TaskSpecifications} actually generates, recorded with
+ * its parameters at the JDBC level.
+ *
+ * <p>Excluded from the default build; run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class TaskQueryVolumeBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 100;
+
+    /** The queries the application has run since the last clear, with their bound parameters. */
+    private static final List<Query> QUERIES = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void loadTasks() {
+        taskRepository.deleteAllInBatch();
+        jdbcTemplate.update("INSERT INTO task (id, title, description, completed, version) "
+                + "SELECT x, 'Task ' || x, 'Description ' || x, MOD(x, 2) = 0, 0 FROM SYSTEM_RANGE(1, ?)", ROWS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    public void deleteTasks() {
+        taskRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void filtersAndSortsAreServedFromIndexes() {
+        check("completed, deep cursor", "idx_task_completed_id",
+                new TaskFilter(true, null, TaskFilter.SortBy.ID, 900_000L, null));
+        check("title prefix", "idx_task_title_id",
+                new TaskFilter(null, "Task 99", TaskFilter.SortBy.TITLE, null, null));
+        check("sorted by title, cursor", "idx_task_title_id",
+                new TaskFilter(null, null, TaskFilter.SortBy.TITLE, 5L, "Task 5"));
+        check("completed + title prefix", "idx_task_completed_title_id",
+                new TaskFilter(false, "Task 77", TaskFilter.SortBy.TITLE, null, null));
+    }
+
+    /**
+     * Runs the page query once to record the SQL and parameters Hibernate sends for it, checks
+     * that H2 plans exactly that statement with {@code index}, then times it.
+     */
+    private void check(String label, String index, TaskFilter filter) {
+        QUERIES.clear();
+        taskService.findTasks(filter, PAGE_SIZE);
+        assertEquals(1, QUERIES.size(), () -> label + " ran " + QUERIES);
+        Query query = QUERIES.get(0);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), String.class, query.parameters().toArray());
+        System.out.println(plan);
+        assertTrue(plan.toUpperCase().contains(index.toUpperCase()), () -> "Expected " + index + " in plan:\n" + plan);
+        time(label, filter);
+    }
+
+    private void time(String label, TaskFilter filter) {
+        long bestMicros = Long.MAX_VALUE;
+        for (int run = 0; run < 20; run++) {
+            long start = System.nanoTime();
+            List<Task> page = taskService.findTasks(filter, PAGE_SIZE);
+            bestMicros = Math.min(bestMicros, (System.nanoTime() - start) / 1_000);
+            assertEquals(PAGE_SIZE, page.size());
+        }
+        System.out.printf("%-26s %,8d us for %d of %,d rows (best of 20)%n", label, bestMicros, PAGE_SIZE, ROWS);
+    }
+
+    private record Query(String sql, List<Object> parameters) {
+    }
+
+    /** Wraps the connection pool so that every prepared query is recorded in {@link #QUERIES}. */
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof HikariDataSource pool ? new RecordingDataSource(pool) : bean;
+                }
+            };
+        }
+    }
+
+    private static final class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password));
+        }
+
+        private static Connection recording(Connection connection) {
+            return proxy(Connection.class, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                return method.getName().equals("prepareStatement")
+                        ? recording((PreparedStatement) result, (String) args[0]) : result;
+            });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, (proxy, method, args) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer position) {
+                    parameters.put(position, method.getName().equals("setNull") ? null : args[1]);
+                } else if (method.getName().equals("executeQuery")) {
+                    QUERIES.add(new Query(sql, new ArrayList<>(parameters.values())));
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
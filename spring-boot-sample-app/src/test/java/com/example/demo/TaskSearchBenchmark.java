@@ -0,0 +1,92 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Indexes 1M tasks and prints the time to build the search index and to answer queries of
+ * different selectivity, both in the index alone and including loading the page of tasks.
+ *
+ * <p>Excluded from the default build; run with {@code mvn test -Pbenchmark}.</p>
+ */
+@Tag("benchmark")
+@SpringBootTest
+public class TaskSearchBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void loadTasks() {
+        taskRepository.deleteAllInBatch();
+        // Ten title words and a hundred description words, so terms range from 1 to 1M matches.
+        jdbcTemplate.update("INSERT INTO task (id, title, description, completed, version) "
+                + "SELECT x, 'Task ' || x || ' word' || MOD(x, 10), 'Description topic' || MOD(x, 100) || ' ' || x, "
+                + "MOD(x, 2) = 0, 0 FROM SYSTEM_RANGE(1, ?)", ROWS);
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        taskSearchIndex.rebuild().join();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("Indexed %,d tasks in %,d ms, index uses about %,d MB of heap%n",
+                ROWS, millis, (usedHeap() - heapBefore) >> 20);
+    }
+
+    @AfterEach
+    public void deleteTasks() {
+        // TRUNCATE skips H2's per-row undo log, which next to the index would not fit the heap.
+        jdbcTemplate.execute("TRUNCATE TABLE task");
+        taskSearchIndex.rebuild().join();
+    }
+
+    @Test
+    public void searchesStayFastAtOneMillionTasks() {
+        time("one match", "424242", 1);
+        time("1% of tasks", "topic42", ROWS / 100);
+        time("1% AND 10%", "topic42 word2", ROWS / 100);
+        time("10% of tasks", "word7", ROWS / 10);
+        time("every task", "task", ROWS);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private void time(String label, String query, int expectedTotal) {
+        long bestIndexMicros = Long.MAX_VALUE;
+        long bestTotalMicros = Long.MAX_VALUE;
+        for (int run = 0; run < 20; run++) {
+            long start = System.nanoTime();
+            TaskSearchIndex.Hits hits = taskSearchIndex.search(query, 0, PAGE_SIZE).orElseThrow();
+            bestIndexMicros = Math.min(bestIndexMicros, (System.nanoTime() - start) / 1_000);
+            assertEquals(expectedTotal, hits.total());
+
+            start = System.nanoTime();
+            TaskSearchResults results = taskService.searchTasks(query, 0, PAGE_SIZE).orElseThrow();
+            bestTotalMicros = Math.min(bestTotalMicros, (System.nanoTime() - start) / 1_000);
+            assertEquals(Math.min(PAGE_SIZE, expectedTotal), results.tasks().size());
+        }
+        System.out.printf("%-14s %-16s %,8d us in the index, %,8d us with the page fetched, for %,9d matches (best of 20)%n",
+                label, "'" + query + "'", bestIndexMicros, bestTotalMicros, expectedTotal);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private TaskSearchIndex taskSearchIndex;
+
+    @AfterEach
+    public void close() {
+        taskSearchIndex.close();
+    }
+
+    @Test
+    public void testFailedFirstBuildIsRetried() throws Exception {
+        Task task = new Task("Write docs", "Docs for the search endpoint", false);
+        task.setId(1L);
+        when(taskRepository.streamAllOrderedById())
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(Stream.of(task));
+
+        taskSearchIndex.onApplicationReady();
+        assertFalse(taskSearchIndex.search("docs", 0, 10).isPresent());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        Optional<TaskSearchIndex.Hits> hits = taskSearchIndex.search("docs", 0, 10);
+        while (hits.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            hits = taskSearchIndex.search("docs", 0, 10);
+        }
+        assertEquals(List.of(1L), hits.orElseThrow().taskIds());
+        verify(taskRepository, times(2)).streamAllOrderedById();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import com.example.demo.common.TaskPatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class TaskSearchIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @BeforeEach
+    public void awaitIndex() {
+        taskSearchIndex.rebuild().join();
+    }
+
+    @Test
+    public void testTitleMatchesRankAboveDescriptionMatches() throws Exception {
+        Task inDescription = taskService.createTask(new Task("Groceries", "Buy zucchini and basil", false));
+        Task inTitle = taskService.createTask(new Task("Zucchini bread", "Bake on Sunday", false));
+        Task unrelated = taskService.createTask(new Task("Zucchini", "Water the garden", false));
+
+        TaskSearchResults results = awaitResults("zucchini", r -> r.total() == 3);
+        assertEquals(inTitle.getId(), results.tasks().get(1).getId());
+        assertEquals(unrelated.getId(), results.tasks().get(0).getId());
+        assertEquals(inDescription.getId(), results.tasks().get(2).getId());
+
+        TaskSearchResults both = taskService.searchTasks("ZUCCHINI, basil!", 0, 10).orElseThrow();
+        assertEquals(List.of(inDescription.getId()), both.tasks().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    public void testUpdatesDeletesAndBulkWritesReachTheIndex() throws Exception {
+        Task task = taskService.createTask(new Task("Quarterly report", "Draft", false));
+        awaitResults("quarterly", r -> r.total() == 1);
+
+        taskService.patchTask(task.getId(), new TaskPatch("Annual report", null, null));
+        awaitResults("quarterly", r -> r.total() == 0);
+        awaitResults("annual report", r -> r.total() == 1);
+
+        taskService.deleteTask(task.getId());
+        awaitResults("annual", r -> r.total() == 0);
+
+        taskService.createTasks(List.of(new Task("Kumquat 1", null, false), new Task("Kumquat 2", null, false)));
+        TaskSearchResults page = awaitResults("kumquat", r -> r.total() == 2);
+        assertTrue(taskService.searchTasks("kumquat", 1, 1).orElseThrow().tasks().size() == 1);
+        assertEquals(2, page.tasks().size());
+    }
+
+    @Test
+    public void testPatchesKeepTheFieldsTheyLeaveOut() throws Exception {
+        Task task = taskService.createTask(new Task("Tamarind chutney", "Soak overnight", false));
+        awaitResults("tamarind overnight", r -> r.total() == 1);
+
+        taskService.patchTask(task.getId(), new TaskPatch(null, "Simmer with jaggery", null));
+        awaitResults("jaggery", r -> r.total() == 1);
+        assertEquals(1, awaitResults("tamarind simmer", r -> r.total() == 1).total());
+
+        taskService.patchTask(task.getId(), new TaskPatch(null, null, true));
+        taskService.patchTask(task.getId(), new TaskPatch("Tamarind rice", null, null));
+        awaitResults("rice jaggery", r -> r.total() == 1);
+        awaitResults("chutney", r -> r.total() == 0);
+    }
+
+    private TaskSearchResults awaitResults(String query, Predicate<TaskSearchResults> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        TaskSearchResults results = taskService.searchTasks(query, 0, 10).orElseThrow();
+        while (!condition.test(results) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            results = taskService.searchTasks(query, 0, 10).orElseThrow();
+        }
+        TaskSearchResults last = results;
+        assertTrue(condition.test(last), () -> "Unexpected results for '" + query + "': " + last);
+        return last;
+    }
+}
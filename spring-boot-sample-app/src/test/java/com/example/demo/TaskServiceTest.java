@@ -1,14 +1,19 @@
 package com.example.demo;
 
+import com.example.demo.common.TaskPatch;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -17,6 +22,9 @@ public class TaskServiceTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskChangeLog taskChangeLog;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -30,4 +38,25 @@ public class TaskServiceTest {
         assertEquals("Test Title", result.get().getTitle());
         verify(taskRepository, times(1)).findById(1L);
     }
+
+    @Test
+    public void testUpdateTaskRejectsStaleVersion() {
+        Task task = new Task("Test Title", "Test Description", false);
+        task.setVersion(5L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> taskService.updateTask(1L, new Task("New Title", "New Description", true), Set.of(4L)));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    public void testPatchTaskRecordsThePatchWithoutReadingTheRow() {
+        TaskPatch patch = new TaskPatch(null, null, true);
+        when(taskRepository.patch(1L, patch)).thenReturn(1);
+
+        assertTrue(taskService.patchTask(1L, patch));
+        verify(taskChangeLog).recordPatched(1L, patch);
+        verify(taskRepository, never()).findById(any());
+    }
 }
@@ -0,0 +1,76 @@
+package com.example.demo;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "tasks.write-behind.enabled=true",
+        "tasks.write-behind.max-delay=50ms"
+})
+public class TaskWriteBehindIntegrationTest {
+
+    @Autowired
+    private TaskWriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testQueuedTasksAreCoalescedIntoBatches() throws Exception {
+        DistributionSummary batchSizes = meterRegistry.get("tasks.write-behind.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+
+        List<QueuedTask> queued = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            queued.add(writeBehindQueue.submit(new Task("Queued " + i, "Description", false)).orElseThrow());
+        }
+
+        for (QueuedTask ticket : queued) {
+            QueuedTask outcome = awaitWritten(ticket.ticket());
+            assertEquals(QueuedTask.Status.CREATED, outcome.status());
+            assertEquals("Queued " + queued.indexOf(ticket),
+                    taskService.findTaskById(outcome.taskId()).orElseThrow().getTitle());
+        }
+        long batches = batchSizes.count() - batchesBefore;
+        assertTrue(batches < 100, () -> "1000 tasks took " + batches + " batches");
+    }
+
+    @Test
+    @DirtiesContext
+    public void testCloseDrainsQueueAndStopsAccepting() throws Exception {
+        List<QueuedTask> queued = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            queued.add(writeBehindQueue.submit(new Task("Draining " + i, "Description", false)).orElseThrow());
+        }
+
+        writeBehindQueue.close();
+
+        for (QueuedTask ticket : queued) {
+            assertEquals(QueuedTask.Status.CREATED, writeBehindQueue.status(ticket.ticket()).orElseThrow().status());
+        }
+        assertTrue(writeBehindQueue.submit(new Task("Too late", "Description", false)).isEmpty());
+    }
+
+    private QueuedTask awaitWritten(long ticket) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        QueuedTask status = writeBehindQueue.status(ticket).orElseThrow();
+        while (status.status() == QueuedTask.Status.QUEUED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = writeBehindQueue.status(ticket).orElseThrow();
+        }
+        return status;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void testBurstThenRefillAtRate() {
+        TokenBucket bucket = new TokenBucket(10, 20, 0);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, bucket.tryTake(5, 0));
+        }
+        // Empty: 5 more tokens take half a second to come back at 10 per second.
+        assertEquals(SECOND / 2, bucket.tryTake(5, 0));
+        assertEquals(SECOND / 10, bucket.tryTake(5, SECOND * 4 / 10));
+        assertEquals(0, bucket.tryTake(5, SECOND / 2));
+
+        // Idle time refills at most a full bucket.
+        long later = 100 * SECOND;
+        assertEquals(0, bucket.tryTake(20, later));
+        assertTrue(bucket.tryTake(1, later) > 0);
+    }
+
+    @Test
+    public void testCostAboveBurstTakesWholeBucket() {
+        TokenBucket bucket = new TokenBucket(1, 10, 0);
+
+        assertEquals(0, bucket.tryTake(50, 0));
+        assertEquals(SECOND, bucket.tryTake(1, 0));
+    }
+
+    @Test
+    public void testConcurrentTakersNeverExceedBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(0.001, 1000, System.nanoTime());
+        AtomicInteger taken = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryTake(1, System.nanoTime()) == 0) {
+                        taken.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1000, taken.get());
+    }
+}
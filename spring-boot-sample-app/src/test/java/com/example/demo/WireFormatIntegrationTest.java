@@ -0,0 +1,85 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Compression and the binary formats through the real server, which MockMvc bypasses. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class WireFormatIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    public void createTasks() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Task("Wire format " + i, "Description " + i, i % 2 == 0));
+        }
+        taskService.createTasks(tasks);
+    }
+
+    @Test
+    public void testListIsGzippedWhenAccepted() throws Exception {
+        HttpResponse<byte[]> plain = get("application/json", null);
+        HttpResponse<byte[]> gzipped = get("application/json", "gzip");
+
+        assertEquals(200, gzipped.statusCode());
+        assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+        assertTrue(gzipped.body().length * 4 < plain.body().length,
+                () -> gzipped.body().length + " bytes gzipped vs " + plain.body().length + " plain");
+
+        byte[] json;
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            json = in.readAllBytes();
+        }
+        assertEquals(objectMapper.readTree(plain.body()), objectMapper.readTree(json));
+    }
+
+    @Test
+    public void testListAsSmileCarriesTheSameTasks() throws Exception {
+        HttpResponse<byte[]> json = get("application/json", null);
+        HttpResponse<byte[]> smile = get("application/x-jackson-smile", null);
+
+        assertEquals(200, smile.statusCode());
+        assertEquals("application/x-jackson-smile", smile.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(smile.body().length < json.body().length);
+        assertEquals(objectMapper.readTree(json.body()), new SmileMapper().readTree(smile.body()));
+    }
+
+    private HttpResponse<byte[]> get(String accept, String acceptEncoding) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?limit=100"))
+                .header("Accept", accept);
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.common;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The {@code ETag} of a task version and the versions an {@code If-Match} header accepts.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Turns an {@code If-Match} header into the versions it accepts, or {@code null} when the
+     * header is absent or {@code *}. {@code If-Match} uses strong comparison (RFC 9110), so weak
+     * {@code W/} tags are dropped along with anything that is not one of our ETags; an empty set
+     * matches no version.
+     */
+    public static Set<Long> versionsOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String eTag : ifMatch.split(",")) {
+            eTag = eTag.trim();
+            if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+                continue;
+            }
+            try {
+                versions.add(Long.valueOf(eTag.substring(1, eTag.length() - 1)));
+            } catch (NumberFormatException e) {
+                // Not one of ours, so it cannot match.
+            }
+        }
+        return versions;
+    }
+}
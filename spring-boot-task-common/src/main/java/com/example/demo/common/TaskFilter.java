@@ -0,0 +1,29 @@
+package com.example.demo.common;
+
+/**
+ * Filter, sort order and keyset cursor for one page of {@code GET /api/tasks}.
+ * Every field except {@code sort} may be {@code null}, meaning "not constrained".
+ *
+ * @param afterId    id of the last task on the previous page.
+ * @param afterTitle title of the last task on the previous page; only used when sorting by title.
+ */
+public record TaskFilter(Boolean completed, String titlePrefix, SortBy sort, Long afterId, String afterTitle) {
+
+    public enum SortBy {
+        ID, TITLE;
+
+        /** Case-insensitive lookup; {@code null} if {@code value} names no sort order. */
+        public static SortBy parse(String value) {
+            for (SortBy sortBy : values()) {
+                if (sortBy.name().equalsIgnoreCase(value)) {
+                    return sortBy;
+                }
+            }
+            return null;
+        }
+    }
+
+    public static TaskFilter firstPage() {
+        return new TaskFilter(null, null, SortBy.ID, null, null);
+    }
+}
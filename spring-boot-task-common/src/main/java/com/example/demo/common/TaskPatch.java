@@ -0,0 +1,49 @@
+package com.example.demo.common;
+
+/**
+ * Sparse body for {@code PATCH /api/tasks/{id}}. Fields left out of the JSON (or sent
+ * as {@code null}) are not touched.
+ */
+public class TaskPatch {
+
+    private String title;
+    private String description;
+    private Boolean completed;
+
+    public TaskPatch() {
+    }
+
+    public TaskPatch(String title, String description, Boolean completed) {
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+    }
+
+    public boolean isEmpty() {
+        return title == null && description == null && completed == null;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ETagsTest {
+
+    @Test
+    public void testAbsentOrAnyIfMatchSkipsTheCheck() {
+        assertNull(ETags.versionsOf(null));
+        assertNull(ETags.versionsOf(" * "));
+    }
+
+    @Test
+    public void testSingleETagRoundTrips() {
+        assertEquals(Set.of(3L), ETags.versionsOf(ETags.of(3L)));
+    }
+
+    @Test
+    public void testListAcceptsEveryListedVersion() {
+        assertEquals(Set.of(3L, 4L), ETags.versionsOf("\"3\", \"4\""));
+        assertEquals(Set.of(3L), ETags.versionsOf("\"3\",\"other\""));
+    }
+
+    @Test
+    public void testWeakETagsNeverMatch() {
+        assertEquals(Set.of(), ETags.versionsOf("W/\"3\""));
+        assertEquals(Set.of(4L), ETags.versionsOf("W/\"3\", \"4\""));
+    }
+
+    @Test
+    public void testForeignETagsNeverMatch() {
+        assertEquals(Set.of(), ETags.versionsOf("\"abc\""));
+        assertEquals(Set.of(), ETags.versionsOf("3"));
+        assertEquals(Set.of(), ETags.versionsOf("\"\""));
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.demo.common;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code /api/tasks} scenarios both apps have to pass. Each app's {@code TaskControllerTest}
+ * extends this, stubs its own {@code TaskService} through the {@code given...} methods and keeps
+ * the scenarios for endpoints only it has.
+ */
+public abstract class TaskControllerContractTest {
+
+    /** A task as the stubbed service returns it, independent of either app's {@code Task} class. */
+    protected record TaskData(Long id, String title, String description, boolean completed, Long version) {
+
+        public static TaskData of(String title, String description, boolean completed) {
+            return new TaskData(null, title, description, completed, null);
+        }
+
+        public TaskData withId(Long id) {
+            return new TaskData(id, title, description, completed, version);
+        }
+
+        public TaskData withVersion(Long version) {
+            return new TaskData(id, title, description, completed, version);
+        }
+    }
+
+    protected abstract WebTestClient webTestClient();
+
+    /** What {@code Link} headers start with: the servlet stack builds absolute links. */
+    protected String linkBase() {
+        return "";
+    }
+
+    protected abstract void givenPage(TaskFilter filter, int limit, List<TaskData> tasks);
+
+    protected abstract void givenAllTasks(List<TaskData> tasks);
+
+    protected abstract void givenTask(Long id, TaskData task);
+
+    protected abstract void givenUpdate(Long id, Set<Long> expectedVersions, TaskData updated);
+
+    protected abstract void givenStaleUpdate(Long id, Set<Long> expectedVersions);
+
+    /** An unconditional update of a task that does not exist. */
+    protected abstract void givenMissingUpdate(Long id);
+
+    protected abstract void givenPatch(Long id, ArgumentMatcher<TaskPatch> patch, boolean found);
+
+    @Test
+    public void testGetAllTasks() {
+        givenPage(TaskFilter.firstPage(), 100, List.of(
+                TaskData.of("Task 1", "Description 1", false),
+                TaskData.of("Task 2", "Description 2", true)));
+
+        webTestClient().get().uri("/api/tasks")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBody()
+                .jsonPath("$[0].title").isEqualTo("Task 1")
+                .jsonPath("$[1].title").isEqualTo("Task 2");
+    }
+
+    @Test
+    public void testGetAllTasksFullPageLinksToNextPage() {
+        givenPage(new TaskFilter(null, null, TaskFilter.SortBy.ID, 5L, null), 2, List.of(
+                TaskData.of("Task 1", "Description 1", false).withId(7L),
+                TaskData.of("Task 2", "Description 2", true).withId(9L)));
+
+        webTestClient().get().uri("/api/tasks?after=5&limit=2")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK,
+                        "<" + linkBase() + "/api/tasks?after=9&limit=2>; rel=\"next\"");
+    }
+
+    @Test
+    public void testGetAllTasksFilteredAndSortedByTitle() {
+        givenPage(new TaskFilter(false, "Buy", TaskFilter.SortBy.TITLE, null, null), 2, List.of(
+                TaskData.of("Buy milk", "Description 1", false).withId(4L),
+                TaskData.of("Buy tea", "Description 2", false).withId(2L)));
+
+        webTestClient().get().uri("/api/tasks?completed=false&titlePrefix=Buy&sort=title&limit=2")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK,
+                        "<" + linkBase() + "/api/tasks?completed=false&titlePrefix=Buy&sort=title"
+                        + "&after=2&afterTitle=Buy%20tea&limit=2>; rel=\"next\"")
+                .expectBody()
+                .jsonPath("$[1].title").isEqualTo("Buy tea");
+    }
+
+    @Test
+    public void testGetAllTasksNextLinkKeepsEncodedParametersAsSent() {
+        givenPage(new TaskFilter(null, "Buy milk 100%", TaskFilter.SortBy.TITLE, null, null), 2, List.of(
+                TaskData.of("Buy milk 100%", "Description 1", false).withId(4L),
+                TaskData.of("Buy milk & tea", "Description 2", false).withId(2L)));
+
+        webTestClient().get().uri(uri -> uri.path("/api/tasks").queryParam("titlePrefix", "{prefix}")
+                        .queryParam("sort", "title").queryParam("limit", "2").build("Buy milk 100%"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK,
+                        "<" + linkBase() + "/api/tasks?titlePrefix=Buy%20milk%20100%25&sort=title"
+                        + "&after=2&afterTitle=Buy%20milk%20%26%20tea&limit=2>; rel=\"next\"");
+    }
+
+    @Test
+    public void testStreamAllTasksAsNdjson() {
+        givenAllTasks(List.of(
+                TaskData.of("Task 1", "Description 1", false),
+                TaskData.of("Task 2", "Description 2", true)));
+
+        webTestClient().get().uri("/api/tasks")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo(
+                        "{\"id\":null,\"title\":\"Task 1\",\"description\":\"Description 1\",\"completed\":false,\"version\":null}\n"
+                        + "{\"id\":null,\"title\":\"Task 2\",\"description\":\"Description 2\",\"completed\":true,\"version\":null}\n");
+    }
+
+    @Test
+    public void testGetTaskById() {
+        givenTask(1L, TaskData.of("Test Task", "Test Description", false));
+
+        webTestClient().get().uri("/api/tasks/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Test Task");
+    }
+
+    @Test
+    public void testGetTaskByIdReturnsETagAndHonoursIfNoneMatch() {
+        givenTask(1L, TaskData.of("Test Task", "Test Description", false).withVersion(3L));
+
+        webTestClient().get().uri("/api/tasks/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"");
+
+        webTestClient().get().uri("/api/tasks/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    @WithMockUser
+    public void testUpdateWithStaleIfMatchReturnsPreconditionFailed() {
+        givenStaleUpdate(1L, Set.of(2L));
+
+        webTestClient().put().uri("/api/tasks/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Renamed\"}")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    @WithMockUser
+    public void testUpdateWithIfMatchListPassesEveryStrongVersion() {
+        givenUpdate(1L, Set.of(3L, 5L), TaskData.of("Renamed", null, false).withId(1L).withVersion(4L));
+
+        webTestClient().put().uri("/api/tasks/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\", W/\"4\", \"5\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Renamed\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"");
+    }
+
+    @Test
+    @WithMockUser
+    public void testUpdateOfMissingTaskReturnsNotFound() {
+        givenMissingUpdate(9L);
+
+        webTestClient().put().uri("/api/tasks/9")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Renamed\"}")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @WithMockUser
+    public void testPatchTaskSendsOnlyTheChangedFields() {
+        givenPatch(1L, patch -> Boolean.TRUE.equals(patch.getCompleted())
+                && patch.getTitle() == null && patch.getDescription() == null, true);
+
+        webTestClient().patch().uri("/api/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"completed\":true}")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    @WithMockUser
+    public void testPatchMissingTaskReturnsNotFound() {
+        givenPatch(99L, patch -> true, false);
+
+        webTestClient().patch().uri("/api/tasks/99")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Renamed\"}")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void testWritesRequireAuthentication() {
+        webTestClient().post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"Anonymous\"}")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+}